@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Starts the application once per request-thread mode and drives the same endpoint with
+# HttpLoadTest, printing throughput and p50/p99 latency for each mode.
+#
+# Needs a Java 21 runtime (JAVA_HOME) for the virtual mode, a reachable MySQL configured as in
+# application.yaml, and the accounting and benchmark builds from the README. DATABASE=h2 runs the
+# application from the benchmark jar on an in-memory H2 database instead, seeded with SEED_INVOICES
+# invoices through the bulk import; MODES limits the run to some of the modes.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+APP_JAR="${APP_JAR:-$ROOT/accounting/target/accounting-0.0.1-SNAPSHOT-exec.jar}"
+BENCH_JAR="${BENCH_JAR:-$ROOT/accounting-benchmarks/target/benchmarks.jar}"
+PORT="${PORT:-8081}"
+URL_PATH="${URL_PATH:-/accounting.files/invoices?limit=100}"
+CLIENTS="${CLIENTS:-256}"
+SECONDS_PER_RUN="${SECONDS_PER_RUN:-60}"
+WARMUP_SECONDS="${WARMUP_SECONDS:-15}"
+MODES="${MODES:-platform virtual}"
+DATABASE="${DATABASE:-mysql}"
+SEED_INVOICES="${SEED_INVOICES:-0}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+app_command=(-jar "$APP_JAR")
+if [ "$DATABASE" = h2 ]; then
+	app_command=(-cp "$BENCH_JAR" accounting.files.AccountingApplication
+		"--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+		--spring.datasource.username=sa --spring.datasource.password=
+		--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect)
+fi
+
+# One product and SEED_INVOICES invoices of three lines each, posted in NDJSON batches of 1000
+seed() {
+	local base="http://localhost:$PORT/accounting.files" product batch i
+	product=$(curl -sf -H 'Content-Type: application/json' -d '{"name":"Load","price":2.50}' "$base/products" |
+		sed 's/.*"productId":\([0-9]*\).*/\1/')
+	for ((i = 0; i < SEED_INVOICES; i += 1000)); do
+		batch=""
+		for ((j = i; j < i + 1000 && j < SEED_INVOICES; j++)); do
+			batch+="{\"invoice\":{\"invoiceDate\":\"2024-01-01T00:00:00.000+00:00\",\"totalAmount\":7.50},"
+			batch+="\"items\":[{\"productId\":\"$product\",\"quantity\":1},{\"productId\":\"$product\",\"quantity\":1},"
+			batch+="{\"productId\":\"$product\",\"quantity\":1}]}"$'\n'
+		done
+		printf %s "$batch" | curl -sf -o /dev/null -H 'Content-Type: application/x-ndjson' --data-binary @- "$base/invoices/bulk"
+	done
+}
+
+for mode in $MODES; do
+	virtual=false
+	[ "$mode" = virtual ] && virtual=true
+	"$JAVA" "${app_command[@]}" --server.port="$PORT" --accounting.threads.virtual="$virtual" \
+		--spring.jpa.show-sql=false > "$ROOT/accounting-benchmarks/target/loadtest-$mode.log" 2>&1 &
+	app=$!
+	trap 'kill $app 2>/dev/null' EXIT
+	until curl -sf -o /dev/null "http://localhost:$PORT$URL_PATH"; do
+		kill -0 $app 2>/dev/null || { echo "$mode: application exited, see target/loadtest-$mode.log" >&2; exit 1; }
+		sleep 1
+	done
+	[ "$SEED_INVOICES" -gt 0 ] && seed
+	"$JAVA" -cp "$BENCH_JAR" accounting.files.benchmark.HttpLoadTest "$mode" \
+		"http://localhost:$PORT$URL_PATH" "$CLIENTS" "$SECONDS_PER_RUN" "$WARMUP_SECONDS"
+	kill $app
+	wait $app 2>/dev/null || true
+	trap - EXIT
+done
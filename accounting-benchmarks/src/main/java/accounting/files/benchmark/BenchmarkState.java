@@ -0,0 +1,55 @@
+package accounting.files.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import accounting.files.service.AccountingFilesService;
+import accounting.files.service.CashFlowClassifier;
+import accounting.files.service.CollectionVersionService;
+import accounting.files.service.LedgerService;
+import accounting.files.service.ReportPartitioner;
+import accounting.files.service.RevenueRollupService;
+
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+	@Param({ "10000", "100000", "1000000" })
+	public int invoiceLines;
+
+	// Report partitions; ReportBenchmark.calculateFinancialTotals with -p parallelism=1,2,4,8 gives
+	// the speedup per core count
+	@Param({ "1" })
+	public int parallelism;
+
+	public AccountingFilesService service;
+
+	private ReportPartitioner reportPartitioner;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		InMemoryRepositories repositories = new InMemoryRepositories(SyntheticDataset.generate(invoiceLines));
+		reportPartitioner = new ReportPartitioner(parallelism, repositories.transactionManager());
+		service = new AccountingFilesService(repositories.invoiceDao(), repositories.customerDao(),
+				repositories.productDao(), repositories.invoiceItemDao(), new LedgerService(repositories.ledgerTotalsDao()),
+				new RevenueRollupService(repositories.revenueRollupDao()),
+				new CollectionVersionService(repositories.collectionVersionDao(), repositories.entityManager()),
+				new CashFlowClassifier(List.of("equipment", "property"), List.of("loan", "equity")),
+				reportPartitioner, repositories.entityManager(), new ObjectMapper(), event -> {
+				}, repositories.transactionManager());
+		// Seeds the ledger so the report benchmarks measure the steady-state read path
+		service.getLedgerTotals();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		reportPartitioner.shutdown();
+	}
+}
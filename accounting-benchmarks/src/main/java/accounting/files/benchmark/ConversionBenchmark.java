@@ -0,0 +1,45 @@
+package accounting.files.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import accounting.files.controller.model.AccountingCustomer;
+import accounting.files.controller.model.AccountingInvoice;
+import accounting.files.controller.model.AccountingProduct;
+
+// Entity to DTO mapping through the public read paths, which is where the convertTo* methods run
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ConversionBenchmark {
+
+	@Benchmark
+	public List<AccountingInvoice> getAllInvoices(BenchmarkState state) {
+		return state.service.getAllInvoices();
+	}
+
+	@Benchmark
+	public List<AccountingInvoice> getInvoicesPage(BenchmarkState state) {
+		return state.service.getInvoicesPage(0L, 1000);
+	}
+
+	@Benchmark
+	public List<AccountingCustomer> getAllCustomers(BenchmarkState state) {
+		return state.service.getAllCustomers();
+	}
+
+	@Benchmark
+	public List<AccountingProduct> getAllProducts(BenchmarkState state) {
+		return state.service.getAllProducts();
+	}
+}
@@ -0,0 +1,112 @@
+package accounting.files.benchmark;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import accounting.files.AccountingApplication;
+import accounting.files.entity.Customer;
+import accounting.files.entity.Invoice;
+import accounting.files.entity.InvoiceItem;
+import accounting.files.entity.Product;
+import accounting.files.service.AccountingFilesService;
+
+// The application context over a real database, so partitions pay for their own connections,
+// transactions and statements. An in-memory H2 database is used unless spring.datasource.url (with
+// username and password) is passed as a system property through -jvmArgsAppend. An empty database
+// is seeded with the synthetic dataset; one that already has invoices is scanned as it is.
+@State(Scope.Benchmark)
+public class DatabaseBenchmarkState {
+
+	private static final String H2_URL = "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	private static final int INSERT_BATCH_SIZE = 1000;
+
+	@Param({ "100000", "1000000" })
+	public int invoiceLines;
+
+	@Param({ "1", "2", "4", "8" })
+	public int parallelism;
+
+	public AccountingFilesService service;
+
+	private ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// Arguments rather than default properties, which application.yaml would override
+		context = new SpringApplicationBuilder(AccountingApplication.class).web(WebApplicationType.NONE).run(
+				"--spring.datasource.url=" + System.getProperty("spring.datasource.url", H2_URL),
+				"--spring.datasource.username=" + System.getProperty("spring.datasource.username", "sa"),
+				"--spring.datasource.password=" + System.getProperty("spring.datasource.password", ""),
+				// The migrations are MySQL's; H2 runs them in MySQL mode, as in the test profile
+				"--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+				"--accounting.reports.parallelism=" + parallelism,
+				// The caller keeps its connection while the partitions take one each
+				"--spring.datasource.hikari.maximum-pool-size=" + (parallelism + 2));
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		if (jdbcTemplate.queryForObject("select count(*) from invoices", Long.class) == 0) {
+			seed(jdbcTemplate, SyntheticDataset.generate(invoiceLines));
+		}
+		service = context.getBean(AccountingFilesService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	private static void seed(JdbcTemplate jdbcTemplate, SyntheticDataset dataset) {
+		List<Object[]> products = new ArrayList<>();
+		for (Product product : dataset.getProducts().values()) {
+			products.add(new Object[] { product.getProductId(), product.getName(), product.getCategory(),
+					product.getPriceCents() });
+		}
+		jdbcTemplate.batchUpdate("insert into products (product_id, name, category, price_cents) values (?, ?, ?, ?)",
+				products);
+
+		List<Object[]> customers = new ArrayList<>();
+		for (Customer customer : dataset.getCustomers().values()) {
+			customers.add(new Object[] { customer.getCustomerId(), customer.getEmail(), customer.getFirstName(),
+					customer.getLastName() });
+		}
+		jdbcTemplate.batchUpdate(
+				"insert into customers (customer_id, email, first_name, last_name) values (?, ?, ?, ?)", customers);
+
+		List<Object[]> invoices = new ArrayList<>();
+		List<Object[]> items = new ArrayList<>();
+		for (Invoice invoice : dataset.getInvoices().values()) {
+			invoices.add(new Object[] { invoice.getInvoiceId(), invoice.isClosed(),
+					new Timestamp(invoice.getInvoiceDate().getTime()), invoice.getTotalAmountCents(),
+					invoice.getCustomer() == null ? null : invoice.getCustomer().getCustomerId() });
+			for (InvoiceItem item : invoice.getItems()) {
+				items.add(new Object[] { item.getItemId(), item.getProductId(), item.getQuantity(),
+						invoice.getInvoiceId() });
+			}
+			if (items.size() >= INSERT_BATCH_SIZE) {
+				insertInvoices(jdbcTemplate, invoices, items);
+			}
+		}
+		insertInvoices(jdbcTemplate, invoices, items);
+	}
+
+	private static void insertInvoices(JdbcTemplate jdbcTemplate, List<Object[]> invoices, List<Object[]> items) {
+		jdbcTemplate.batchUpdate("insert into invoices (invoice_id, closed, invoice_date, total_amount_cents, "
+				+ "customer_customer_id) values (?, ?, ?, ?, ?)", invoices);
+		jdbcTemplate.batchUpdate(
+				"insert into invoice_item (item_id, product_id, quantity, invoice_invoice_id) values (?, ?, ?, ?)", items);
+		invoices.clear();
+		items.clear();
+	}
+}
@@ -0,0 +1,28 @@
+package accounting.files.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import accounting.files.service.FinancialTotals;
+
+// The sequential and partitioned full scan against a database rather than the in-memory stand-ins;
+// -p parallelism=1 is the sequential baseline the other counts are compared with
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 6, time = 10)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class DatabaseReportBenchmark {
+
+	@Benchmark
+	public FinancialTotals calculateFinancialTotals(DatabaseBenchmarkState state) {
+		return state.service.calculateFinancialTotals();
+	}
+}
@@ -0,0 +1,113 @@
+package accounting.files.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Closed-loop HTTP load generator used by loadtest.sh to compare the platform and virtual thread
+// request modes: each client sends its next request as soon as the previous one answers, so the
+// server's concurrency is fixed and throughput and tail latency are what change between modes.
+public class HttpLoadTest {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 4) {
+			System.err.println("usage: HttpLoadTest <label> <url> <clients> <seconds> [warmupSeconds]");
+			System.exit(2);
+		}
+		String label = args[0];
+		URI uri = URI.create(args[1]);
+		int clients = Integer.parseInt(args[2]);
+		Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+		Duration warmup = Duration.ofSeconds(args.length > 4 ? Long.parseLong(args[4]) : 10);
+
+		HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+		run(httpClient, request, clients, warmup);
+		Result result = run(httpClient, request, clients, duration);
+
+		System.out.println(String.format(Locale.ROOT,
+				"%s clients=%d requests=%d errors=%d throughput=%.1f/s p50=%.2fms p99=%.2fms max=%.2fms",
+				label, clients, result.latencies.length, result.errors,
+				result.latencies.length / (duration.toNanos() / 1e9),
+				percentile(result.latencies, 0.50), percentile(result.latencies, 0.99),
+				percentile(result.latencies, 1.0)));
+	}
+
+	private static Result run(HttpClient httpClient, HttpRequest request, int clients, Duration duration)
+			throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		try {
+			List<Future<Result>> futures = new ArrayList<>();
+			for (int i = 0; i < clients; i++) {
+				futures.add(executor.submit(() -> client(httpClient, request, deadline)));
+			}
+			Result total = new Result(new long[0], 0);
+			for (Future<Result> future : futures) {
+				total = total.merge(future.get());
+			}
+			Arrays.sort(total.latencies);
+			return total;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Result client(HttpClient httpClient, HttpRequest request, long deadline) {
+		long[] latencies = new long[1024];
+		int count = 0;
+		long errors = 0;
+		while (System.nanoTime() < deadline) {
+			long start = System.nanoTime();
+			try {
+				HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() >= 400) {
+					errors++;
+					continue;
+				}
+			} catch (Exception e) {
+				errors++;
+				continue;
+			}
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = System.nanoTime() - start;
+		}
+		return new Result(Arrays.copyOf(latencies, count), errors);
+	}
+
+	private static double percentile(long[] sorted, double fraction) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(fraction * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1e6;
+	}
+
+	private static final class Result {
+		private final long[] latencies;
+		private final long errors;
+
+		private Result(long[] latencies, long errors) {
+			this.latencies = latencies;
+			this.errors = errors;
+		}
+
+		private Result merge(Result other) {
+			long[] merged = Arrays.copyOf(latencies, latencies.length + other.latencies.length);
+			System.arraycopy(other.latencies, 0, merged, latencies.length, other.latencies.length);
+			return new Result(merged, errors + other.errors);
+		}
+	}
+}
@@ -0,0 +1,272 @@
+package accounting.files.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import accounting.files.dao.CashFlowRow;
+import accounting.files.dao.CollectionVersionDao;
+import accounting.files.dao.CustomerDao;
+import accounting.files.dao.InvoiceDao;
+import accounting.files.dao.InvoiceIdRange;
+import accounting.files.dao.InvoiceItemDao;
+import accounting.files.dao.LedgerTotalsDao;
+import accounting.files.dao.ProductDao;
+import accounting.files.dao.ProductPrice;
+import accounting.files.dao.RevenueRollupDao;
+import accounting.files.entity.Invoice;
+import accounting.files.entity.LedgerTotals;
+import accounting.files.entity.Product;
+import jakarta.persistence.EntityManager;
+
+// Stand-ins for the Spring Data repositories that answer the read paths the benchmarks exercise
+// straight from a SyntheticDataset, so the measurements cover the service code and not a database
+public class InMemoryRepositories {
+
+	private final SyntheticDataset dataset;
+	private LedgerTotals ledgerTotals;
+
+	public InMemoryRepositories(SyntheticDataset dataset) {
+		this.dataset = dataset;
+	}
+
+	public InvoiceDao invoiceDao() {
+		return proxy(InvoiceDao.class, (name, args) -> switch (name) {
+		case "findInvoiceIdsAfter" -> {
+			int limit = ((Pageable) args[1]).getPageSize();
+			List<Long> invoiceIds = new ArrayList<>(limit);
+			for (Long invoiceId : dataset.getInvoices().tailMap((Long) args[0], false).keySet()) {
+				if (invoiceIds.size() == limit) {
+					break;
+				}
+				invoiceIds.add(invoiceId);
+			}
+			yield invoiceIds;
+		}
+		case "findInvoiceIdsInRange" -> {
+			int limit = ((Pageable) args[2]).getPageSize();
+			List<Long> invoiceIds = new ArrayList<>(limit);
+			for (Long invoiceId : dataset.getInvoices().subMap((Long) args[0], false, (Long) args[1], true).keySet()) {
+				if (invoiceIds.size() == limit) {
+					break;
+				}
+				invoiceIds.add(invoiceId);
+			}
+			yield invoiceIds;
+		}
+		case "findInvoiceIdRange" -> invoiceIdRange(dataset.getInvoices().isEmpty() ? null
+				: dataset.getInvoices().firstKey(), dataset.getInvoices().isEmpty() ? null
+						: dataset.getInvoices().lastKey());
+		case "findWithCustomerAndItemsByInvoiceIdIn" -> {
+			List<Invoice> invoices = new ArrayList<>();
+			for (Object invoiceId : (Collection<?>) args[0]) {
+				invoices.add(dataset.getInvoices().get(invoiceId));
+			}
+			yield invoices;
+		}
+		case "findAll" -> new ArrayList<>(dataset.getInvoices().values());
+		case "findById", "findWithCustomerAndItemsByInvoiceId" ->
+			Optional.ofNullable(dataset.getInvoices().get(args[0]));
+		case "existsById" -> dataset.getInvoices().containsKey(args[0]);
+		// Synthetic invoice dates rise with the ID, so ID order is already date order
+		case "streamCashFlowRows" -> dataset.getInvoices().values().stream().flatMap(this::cashFlowRows);
+		default -> throw unsupported(name);
+		});
+	}
+
+	public CustomerDao customerDao() {
+		return proxy(CustomerDao.class, (name, args) -> switch (name) {
+		case "findAll" -> new ArrayList<>(dataset.getCustomers().values());
+		case "findById" -> Optional.ofNullable(dataset.getCustomers().get(args[0]));
+		default -> throw unsupported(name);
+		});
+	}
+
+	public ProductDao productDao() {
+		return proxy(ProductDao.class, (name, args) -> switch (name) {
+		case "findPricesByProductIdIn" -> {
+			List<ProductPrice> prices = new ArrayList<>();
+			for (Object productId : (Collection<?>) args[0]) {
+				Product product = dataset.getProducts().get(productId);
+				if (product != null) {
+					prices.add(productPrice(product.getProductId(), product.getPriceCents()));
+				}
+			}
+			yield prices;
+		}
+		case "findAll" -> new ArrayList<>(dataset.getProducts().values());
+		case "findById" -> Optional.ofNullable(dataset.getProducts().get(args[0]));
+		default -> throw unsupported(name);
+		});
+	}
+
+	public InvoiceItemDao invoiceItemDao() {
+		return proxy(InvoiceItemDao.class, (name, args) -> {
+			throw unsupported(name);
+		});
+	}
+
+	public LedgerTotalsDao ledgerTotalsDao() {
+		return proxy(LedgerTotalsDao.class, (name, args) -> switch (name) {
+		case "findAll", "findAllForUpdate" -> ledgerTotals != null ? List.of(ledgerTotals) : List.of();
+		case "insertIfMissing" -> {
+			if (ledgerTotals != null) {
+				yield 0;
+			}
+			ledgerTotals = new LedgerTotals();
+			ledgerTotals.setLedgerId((Long) args[0]);
+			yield 1;
+		}
+		case "replaceTotals" -> {
+			ledgerTotals.setTotalRevenueCents((Long) args[1]);
+			ledgerTotals.setTotalExpensesCents((Long) args[2]);
+			ledgerTotals.setTotalAssetsCents((Long) args[3]);
+			ledgerTotals.setTotalLiabilitiesCents((Long) args[4]);
+			ledgerTotals.setRebuiltAt((Date) args[5]);
+			yield 1;
+		}
+		// A single stripe, so there are no others to clear
+		case "clearOtherStripes" -> 0;
+		default -> throw unsupported(name);
+		});
+	}
+
+	// Only written by changes, which the benchmarks do not make
+	public CollectionVersionDao collectionVersionDao() {
+		return proxy(CollectionVersionDao.class, (name, args) -> {
+			throw unsupported(name);
+		});
+	}
+
+	// Only written by invoice changes, which the benchmarks do not make
+	public RevenueRollupDao revenueRollupDao() {
+		return proxy(RevenueRollupDao.class, (name, args) -> {
+			throw unsupported(name);
+		});
+	}
+
+	// The service only clears the persistence context between windows, which is a no-op here
+	public EntityManager entityManager() {
+		return proxy(EntityManager.class, (name, args) -> switch (name) {
+		case "clear" -> null;
+		default -> throw unsupported(name);
+		});
+	}
+
+	public PlatformTransactionManager transactionManager() {
+		return new PlatformTransactionManager() {
+			@Override
+			public TransactionStatus getTransaction(TransactionDefinition definition) {
+				return new SimpleTransactionStatus();
+			}
+
+			@Override
+			public void commit(TransactionStatus status) {
+			}
+
+			@Override
+			public void rollback(TransactionStatus status) {
+			}
+		};
+	}
+
+	private Stream<CashFlowRow> cashFlowRows(Invoice invoice) {
+		return invoice.getItems().stream().map(item -> {
+			Product product = dataset.getProducts().get(item.getProductId());
+			return cashFlowRow(invoice, product, item.getQuantity());
+		});
+	}
+
+	private static CashFlowRow cashFlowRow(Invoice invoice, Product product, int quantity) {
+		return new CashFlowRow() {
+			@Override
+			public Long getInvoiceId() {
+				return invoice.getInvoiceId();
+			}
+
+			@Override
+			public Date getInvoiceDate() {
+				return invoice.getInvoiceDate();
+			}
+
+			@Override
+			public Long getTotalAmountCents() {
+				return invoice.getTotalAmountCents();
+			}
+
+			@Override
+			public String getCategory() {
+				return product.getCategory();
+			}
+
+			@Override
+			public Long getPriceCents() {
+				return product.getPriceCents();
+			}
+
+			@Override
+			public Integer getQuantity() {
+				return quantity;
+			}
+		};
+	}
+
+	private static InvoiceIdRange invoiceIdRange(Long minId, Long maxId) {
+		return new InvoiceIdRange() {
+			@Override
+			public Long getMinId() {
+				return minId;
+			}
+
+			@Override
+			public Long getMaxId() {
+				return maxId;
+			}
+		};
+	}
+
+	private static ProductPrice productPrice(Long productId, Long priceCents) {
+		return new ProductPrice() {
+			@Override
+			public Long getProductId() {
+				return productId;
+			}
+
+			@Override
+			public Long getPriceCents() {
+				return priceCents;
+			}
+		};
+	}
+
+	private static UnsupportedOperationException unsupported(String name) {
+		return new UnsupportedOperationException("Not available in the benchmark stand-in: " + name);
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		Object invoke(String name, Object[] args);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Handler handler) {
+		InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+		case "toString" -> "InMemory" + type.getSimpleName();
+		case "hashCode" -> System.identityHashCode(proxy);
+		case "equals" -> proxy == args[0];
+		default -> handler.invoke(method.getName(), args);
+		};
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, invocationHandler);
+	}
+}
@@ -0,0 +1,105 @@
+package accounting.files.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import accounting.files.controller.model.AccountingInvoice;
+import accounting.files.controller.model.AccountingProduct;
+
+// Serialization cost and payload size of the listing responses per wire format. The payloadBytes
+// secondary result is the size of one response, compressed for the *Gzip benchmarks.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class PayloadBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Payloads {
+
+		@Param({ "json", "cbor", "smile" })
+		public String format;
+
+		ObjectMapper mapper;
+		List<AccountingInvoice> invoices;
+		List<AccountingProduct> products;
+
+		// Same builder defaults the application's converters start from, see BinaryFormatConfig
+		@Setup(Level.Trial)
+		public void setUp(BenchmarkState state) {
+			Jackson2ObjectMapperBuilder builder = switch (format) {
+			case "json" -> Jackson2ObjectMapperBuilder.json();
+			case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+			case "smile" -> Jackson2ObjectMapperBuilder.smile();
+			default -> throw new IllegalArgumentException("Unknown format " + format);
+			};
+			mapper = builder.build();
+			invoices = state.service.getAllInvoices();
+			products = state.service.getAllProducts();
+		}
+	}
+
+	// Set on every call rather than summed, so the reported value is the size of one payload
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class PayloadSize {
+		public long payloadBytes;
+	}
+
+	@Benchmark
+	public byte[] invoices(Payloads payloads, PayloadSize size) throws IOException {
+		byte[] payload = payloads.mapper.writeValueAsBytes(payloads.invoices);
+		size.payloadBytes = payload.length;
+		return payload;
+	}
+
+	@Benchmark
+	public byte[] invoicesGzip(Payloads payloads, PayloadSize size) throws IOException {
+		byte[] payload = gzip(payloads.mapper, payloads.invoices);
+		size.payloadBytes = payload.length;
+		return payload;
+	}
+
+	@Benchmark
+	public byte[] products(Payloads payloads, PayloadSize size) throws IOException {
+		byte[] payload = payloads.mapper.writeValueAsBytes(payloads.products);
+		size.payloadBytes = payload.length;
+		return payload;
+	}
+
+	@Benchmark
+	public byte[] productsGzip(Payloads payloads, PayloadSize size) throws IOException {
+		byte[] payload = gzip(payloads.mapper, payloads.products);
+		size.payloadBytes = payload.length;
+		return payload;
+	}
+
+	private static byte[] gzip(ObjectMapper mapper, Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+			mapper.writeValue(gzip, value);
+		}
+		return bytes.toByteArray();
+	}
+}
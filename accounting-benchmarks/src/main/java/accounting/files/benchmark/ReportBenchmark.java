@@ -0,0 +1,42 @@
+package accounting.files.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import accounting.files.controller.model.AccountingCashFlowStatement;
+import accounting.files.controller.model.AccountingLedgerVerification;
+import accounting.files.service.ReportPeriod;
+import accounting.files.service.FinancialTotals;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ReportBenchmark {
+
+	// The full scan behind ledger seeding, verification and rebuilds
+	@Benchmark
+	public FinancialTotals calculateFinancialTotals(BenchmarkState state) {
+		return state.service.calculateFinancialTotals();
+	}
+
+	@Benchmark
+	public AccountingCashFlowStatement getCashFlowStatement(BenchmarkState state) {
+		return state.service.getCashFlowStatement(ReportPeriod.MONTH, null, null);
+	}
+
+	// The totals, balance sheet and income statement only read the ledger rows; verification is the
+	// recomputation they stand in for, compared against those rows
+	@Benchmark
+	public AccountingLedgerVerification verifyLedger(BenchmarkState state) {
+		return state.service.verifyLedger();
+	}
+}
@@ -0,0 +1,86 @@
+package accounting.files.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import accounting.files.entity.Customer;
+import accounting.files.entity.Invoice;
+import accounting.files.entity.InvoiceItem;
+import accounting.files.entity.Product;
+
+public class SyntheticDataset {
+	public static final int ITEMS_PER_INVOICE = 10;
+	public static final int PRODUCT_COUNT = 1000;
+	public static final int CUSTOMER_COUNT = 1000;
+
+	private final NavigableMap<Long, Invoice> invoices = new TreeMap<>();
+	private final NavigableMap<Long, Product> products = new TreeMap<>();
+	private final NavigableMap<Long, Customer> customers = new TreeMap<>();
+
+	// Seeded so every run, and every fork of a run, measures exactly the same data
+	public static SyntheticDataset generate(int invoiceLines) {
+		SyntheticDataset dataset = new SyntheticDataset();
+		Random random = new Random(42);
+
+		for (long productId = 1; productId <= PRODUCT_COUNT; productId++) {
+			Product product = new Product();
+			product.setProductId(productId);
+			product.setName("Product " + productId);
+			product.setCategory(productId % 10 == 0 ? "equipment" : "supplies");
+			product.setPriceCents(100L + random.nextInt(99900));
+			dataset.products.put(productId, product);
+		}
+
+		for (long customerId = 1; customerId <= CUSTOMER_COUNT; customerId++) {
+			Customer customer = new Customer("First" + customerId, "Last" + customerId,
+					"customer" + customerId + "@example.com");
+			customer.setCustomerId(customerId);
+			dataset.customers.put(customerId, customer);
+		}
+
+		long itemId = 1;
+		int invoiceCount = Math.max(1, invoiceLines / ITEMS_PER_INVOICE);
+		long startDate = 1_672_531_200_000L;
+		for (long invoiceId = 1; invoiceId <= invoiceCount; invoiceId++) {
+			Invoice invoice = new Invoice();
+			invoice.setInvoiceId(invoiceId);
+			invoice.setInvoiceDate(new Date(startDate + invoiceId * 60_000L));
+			invoice.setTotalAmountCents(random.nextInt(20) == 0 ? 0 : 1000L + random.nextInt(1_000_000));
+			invoice.setClosed(random.nextBoolean());
+			// Roughly one invoice in ten has no customer, which keeps the assets branch honest
+			if (random.nextInt(10) != 0) {
+				Customer customer = dataset.customers.get(1 + (long) random.nextInt(CUSTOMER_COUNT));
+				customer.add(invoice);
+			}
+
+			List<InvoiceItem> items = new ArrayList<>(ITEMS_PER_INVOICE);
+			for (int line = 0; line < ITEMS_PER_INVOICE; line++) {
+				InvoiceItem item = new InvoiceItem();
+				item.setItemId(itemId++);
+				item.setProductId(1 + random.nextInt(PRODUCT_COUNT));
+				item.setQuantity(1 + random.nextInt(20));
+				item.setInvoice(invoice);
+				items.add(item);
+			}
+			invoice.setItems(items);
+			dataset.invoices.put(invoiceId, invoice);
+		}
+		return dataset;
+	}
+
+	public NavigableMap<Long, Invoice> getInvoices() {
+		return invoices;
+	}
+
+	public NavigableMap<Long, Product> getProducts() {
+		return products;
+	}
+
+	public NavigableMap<Long, Customer> getCustomers() {
+		return customers;
+	}
+}
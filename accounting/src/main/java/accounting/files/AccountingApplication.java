@@ -3,9 +3,11 @@ package accounting.files;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EntityScan("accounting.files.entity")
+@EnableScheduling
 public class AccountingApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,30 @@
+package accounting.files.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// CBOR (application/cbor) and Smile (application/x-jackson-smile) next to JSON, picked through the
+// Accept and Content-Type headers. The mappers come from the builder Spring Boot configures for JSON,
+// so every spring.jackson setting applies to all three. These replace the MVC defaults in place, which
+// keeps JSON ahead of them for clients that accept anything.
+@Configuration
+public class BinaryFormatConfig {
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(
+				builder.createXmlMapper(false).factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(
+				builder.createXmlMapper(false).factory(new SmileFactory()).build());
+	}
+}
@@ -0,0 +1,38 @@
+package accounting.files.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManagerFactory;
+
+// Read-only transactions may be served by a replica that lags the primary. They still read the
+// second-level cache but never put into it, so the cache is only filled from the primary, by
+// read-write transactions. Hibernate's read-write strategy also refuses a put whose @Version is
+// older than the cached entry, which covers a snapshot opened before a concurrent update.
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+	private static final long serialVersionUID = 1L;
+
+	public ReplicaAwareTransactionManager(EntityManagerFactory entityManagerFactory) {
+		super(entityManagerFactory);
+	}
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		// An entity manager bound before the transaction outlives it, so only one opened for this
+		// transaction has its cache mode changed
+		boolean newEntityManager = !TransactionSynchronizationManager.hasResource(obtainEntityManagerFactory());
+		super.doBegin(transaction, definition);
+		if (definition.isReadOnly() && newEntityManager) {
+			EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+					.getResource(obtainEntityManagerFactory());
+			// A property rather than the session cache mode, since find() derives its mode from it
+			holder.getEntityManager().setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE,
+					CacheStoreMode.BYPASS);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package accounting.files.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Polls the replica's replication delay and takes it out of rotation while it is further behind
+// than the tolerance, has stopped replicating, or cannot report its status. A server that returns
+// no status row is not replicating from anything and is treated as current.
+@Slf4j
+public class ReplicaLagMonitor {
+
+	private final JdbcTemplate replica;
+	private final ReplicaRoutingDataSource routingDataSource;
+	private final Duration maxLag;
+	private final String lagQuery;
+
+	public ReplicaLagMonitor(JdbcTemplate replica, ReplicaRoutingDataSource routingDataSource, Duration maxLag,
+			String lagQuery) {
+		this.replica = replica;
+		this.routingDataSource = routingDataSource;
+		this.maxLag = maxLag;
+		this.lagQuery = lagQuery;
+	}
+
+	@Scheduled(fixedDelayString = "${accounting.datasource.replica.lag-check-interval-ms:5000}")
+	public void check() {
+		if (lagQuery == null || lagQuery.isBlank()) {
+			return;
+		}
+		boolean available;
+		try {
+			List<Map<String, Object>> status = replica.queryForList(lagQuery);
+			Long lagSeconds = status.isEmpty() ? Long.valueOf(0) : secondsBehind(status.get(0));
+			available = lagSeconds != null && lagSeconds <= maxLag.toSeconds();
+		} catch (DataAccessException e) {
+			log.warn("Could not read replica status: {}", e.getMessage());
+			available = false;
+		}
+		if (available != routingDataSource.isReplicaAvailable()) {
+			log.info(available ? "Replica caught up, routing read-only transactions to it"
+					: "Replica is behind or unavailable, routing all transactions to the primary");
+		}
+		routingDataSource.setReplicaAvailable(available);
+	}
+
+	// Column names differ before and after MySQL 8.0.22; the row map is case insensitive
+	private static Long secondsBehind(Map<String, Object> status) {
+		Object value = status.containsKey("Seconds_Behind_Source") ? status.get("Seconds_Behind_Source")
+				: status.get("Seconds_Behind_Master");
+		return value instanceof Number number ? number.longValue() : null;
+	}
+}
@@ -0,0 +1,78 @@
+package accounting.files.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Enabled by accounting.datasource.replica.jdbc-url. The primary pool is still configured through
+// spring.datasource; the replica pool takes Hikari settings under accounting.datasource.replica.
+// Writes, and reads inside a read-write transaction, always use the primary.
+@Configuration
+@ConditionalOnProperty(name = "accounting.datasource.replica.jdbc-url")
+public class ReplicaRoutingConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("accounting.datasource.replica")
+	public HikariDataSource replicaDataSource() {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(
+			@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+			@Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+		return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+
+	// Replaces Spring Boot's JpaTransactionManager so replica reads cannot fill the second-level cache
+	@Bean
+	public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+			ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+		ReplicaAwareTransactionManager transactionManager = new ReplicaAwareTransactionManager(entityManagerFactory);
+		transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+		return transactionManager;
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+			ReplicaRoutingDataSource replicaRoutingDataSource,
+			@Value("${accounting.datasource.replica.max-lag:10s}") Duration maxLag,
+			@Value("${accounting.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery) {
+		return new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource), replicaRoutingDataSource, maxLag, lagQuery);
+	}
+}
@@ -0,0 +1,38 @@
+package accounting.files.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends connections for read-only transactions to the replica and everything else to the primary.
+// The transaction's read-only flag is only visible once the transaction has begun, so this must
+// sit behind a LazyConnectionDataSourceProxy that defers the lookup to the first statement.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private static final String PRIMARY = "primary";
+	private static final String REPLICA = "replica";
+
+	private volatile boolean replicaAvailable = true;
+
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+		setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	public boolean isReplicaAvailable() {
+		return replicaAvailable;
+	}
+
+	public void setReplicaAvailable(boolean replicaAvailable) {
+		this.replicaAvailable = replicaAvailable;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+	}
+}
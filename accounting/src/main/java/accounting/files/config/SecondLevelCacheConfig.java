@@ -0,0 +1,72 @@
+package accounting.files.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// Hibernate second-level cache on Caffeine through JCache. Every region is created here with its
+// own size and TTL, and Hibernate is told to fail on any region it cannot find, so a new cached
+// entity cannot silently run unbounded.
+@Configuration
+public class SecondLevelCacheConfig {
+
+	public static final String PRODUCT_REGION = "product";
+	public static final String CUSTOMER_REGION = "customer";
+
+	private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+	private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+	@Bean(destroyMethod = "close")
+	public CacheManager secondLevelCacheManager(
+			@Value("${accounting.second-level-cache.product.max-size:10000}") long productMaxSize,
+			@Value("${accounting.second-level-cache.product.ttl:1h}") Duration productTtl,
+			@Value("${accounting.second-level-cache.customer.max-size:10000}") long customerMaxSize,
+			@Value("${accounting.second-level-cache.customer.ttl:1h}") Duration customerTtl,
+			@Value("${accounting.second-level-cache.query.max-size:1000}") long queryMaxSize,
+			@Value("${accounting.second-level-cache.query.ttl:10m}") Duration queryTtl) {
+		// A manager of its own rather than the provider default, so a second application context in
+		// the same JVM neither collides with these regions nor shares their entries
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+				.getCacheManager(URI.create("accounting-files:" + UUID.randomUUID()), getClass().getClassLoader());
+		cacheManager.createCache(PRODUCT_REGION, region(productMaxSize, productTtl));
+		cacheManager.createCache(CUSTOMER_REGION, region(customerMaxSize, customerTtl));
+		cacheManager.createCache(QUERY_RESULTS_REGION, region(queryMaxSize, queryTtl));
+		// Must outlive every cached query result, so it is neither bounded nor expired
+		cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<Object, Object>());
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+		return hibernateProperties -> {
+			hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+			hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+			hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+		};
+	}
+
+	private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setMaximumSize(OptionalLong.of(maxSize));
+		configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+		// Hit, miss and eviction counts for /products/cache-stats
+		configuration.setNativeStatisticsEnabled(true);
+		return configuration;
+	}
+}
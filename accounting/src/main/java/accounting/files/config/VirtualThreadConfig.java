@@ -0,0 +1,78 @@
+package accounting.files.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Opt-in mode that serves every request, and the service and JDBC calls it makes, on its own
+// virtual thread. The build stays on Java 17; the executor is looked up reflectively so the mode
+// only needs a Java 21 runtime when it is switched on.
+@Configuration
+@ConditionalOnProperty(name = "accounting.threads.virtual", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService virtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			log.info("Serving requests on virtual threads");
+			return (ExecutorService) factory.invoke(null);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(
+					"accounting.threads.virtual=true needs a Java 21 runtime, found " + Runtime.version(), e);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not create the virtual thread executor", e);
+		}
+	}
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(ExecutorService virtualThreadExecutor) {
+		return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+	}
+
+	// Streaming responses and other async MVC work leave the request thread, so they follow it
+	@Bean
+	public WebMvcConfigurer virtualThreadAsyncSupport(ExecutorService virtualThreadExecutor) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+				configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadExecutor));
+			}
+		};
+	}
+
+	// Without Tomcat's thread cap the connection pool is the concurrency limit. It is sized to what
+	// the database can serve (2 x cores + 1 unless accounting.threads.db-pool-size says otherwise) and
+	// kept fixed, so a burst waits for a warm connection rather than opening new ones. Connector/J 8
+	// holds monitors during socket I/O, which pins carrier threads, another reason to keep it modest.
+	@Bean
+	public static BeanPostProcessor virtualThreadHikariSizing(Environment environment) {
+		int poolSize = environment.getProperty("accounting.threads.db-pool-size", Integer.class,
+				Runtime.getRuntime().availableProcessors() * 2 + 1);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof HikariDataSource dataSource) {
+					dataSource.setMaximumPoolSize(poolSize);
+					dataSource.setMinimumIdle(poolSize);
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -1,39 +1,150 @@
 package accounting.files.controller;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import accounting.files.controller.model.AccountingBalanceSheet;
+import accounting.files.controller.model.AccountingCashFlowStatement;
 import accounting.files.controller.model.AccountingCustomer;
+import accounting.files.controller.model.AccountingCustomerAssets;
+import accounting.files.controller.model.AccountingCustomerInvoiceResult;
+import accounting.files.controller.model.AccountingCustomerSummary;
+import accounting.files.controller.model.AccountingData;
+import accounting.files.controller.model.AccountingImportResult;
+import accounting.files.controller.model.AccountingIncomeStatement;
 import accounting.files.controller.model.AccountingInvoice;
 import accounting.files.controller.model.AccountingInvoiceItem;
+import accounting.files.controller.model.AccountingInvoicePatch;
+import accounting.files.controller.model.AccountingInvoiceSummary;
+import accounting.files.controller.model.AccountingLedgerVerification;
 import accounting.files.controller.model.AccountingProduct;
+import accounting.files.controller.model.AccountingProductCacheStats;
+import accounting.files.controller.model.AccountingProductSummary;
+import accounting.files.controller.model.AccountingReportJob;
+import accounting.files.controller.model.AccountingResourceVersion;
+import accounting.files.controller.model.AccountingRevenueReport;
 import accounting.files.service.AccountingFilesService;
+import accounting.files.service.CacheStatsService;
+import accounting.files.service.ReportJobService;
+import accounting.files.service.ReportPeriod;
+import accounting.files.service.ReportType;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/accounting.files") // Add base request mapping
 public class AccountingFilesController {
 
+	private static final int DEFAULT_PAGE_SIZE = 100;
+
 	private final AccountingFilesService accountingFilesService;
+	private final ReportJobService reportJobService;
+	private final CacheStatsService cacheStatsService;
 
 	@Autowired
-	public AccountingFilesController(AccountingFilesService accountingFilesService) {
+	public AccountingFilesController(AccountingFilesService accountingFilesService,
+			ReportJobService reportJobService, CacheStatsService cacheStatsService) {
 		this.accountingFilesService = accountingFilesService;
+		this.reportJobService = reportJobService;
+		this.cacheStatsService = cacheStatsService;
+	}
+
+	private static Long afterIdOrStart(Long afterId) {
+		return afterId != null ? afterId : 0L;
+	}
+
+	private static int limitOrDefault(Integer limit) {
+		return limit != null ? limit : DEFAULT_PAGE_SIZE;
+	}
+
+	// Answers If-None-Match and If-Modified-Since from the version alone and sets ETag and Last-Modified.
+	// On true the 304 is already written and the handler returns null. The version is read before the
+	// body, so a concurrent write costs the client at most one extra full response.
+	private static boolean notModified(WebRequest request, AccountingResourceVersion version) {
+		if (version == null) {
+			return false;
+		}
+		Date lastModified = version.getLastModified();
+		return request.checkNotModified(version.getEtag(), lastModified != null ? lastModified.getTime() : -1);
+	}
+
+	// Like the full listings, no paging parameters at all means every row
+	private static Integer summaryLimit(Long afterId, Integer limit) {
+		return afterId == null && limit == null ? null : limitOrDefault(limit);
 	}
 
 	// Invoice EndPoints
 
 	@GetMapping("/invoices")
-	public ResponseEntity<List<AccountingInvoice>> getAllInvoices() {
-		List<AccountingInvoice> invoices = accountingFilesService.getAllInvoices();
+	public ResponseEntity<List<AccountingInvoice>> getAllInvoices(@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) Integer limit, WebRequest request) {
+		if (notModified(request, accountingFilesService.getInvoicesVersion())) {
+			return null;
+		}
+		if (afterId == null && limit == null) {
+			return ResponseEntity.ok(accountingFilesService.getAllInvoices());
+		}
+		List<AccountingInvoice> invoices = accountingFilesService.getInvoicesPage(afterIdOrStart(afterId),
+				limitOrDefault(limit));
 		return ResponseEntity.ok(invoices);
 	}
 
+	@GetMapping(value = "/invoices", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamInvoices() {
+		StreamingResponseBody body = accountingFilesService::streamInvoices;
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	// view=summary returns the listing columns only, read as projections instead of entities
+	@GetMapping(value = "/invoices", params = "view=summary")
+	public ResponseEntity<List<AccountingInvoiceSummary>> getInvoiceSummaries(
+			@RequestParam(required = false) Long afterId, @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(accountingFilesService.getInvoiceSummaries(afterIdOrStart(afterId),
+				summaryLimit(afterId, limit)));
+	}
+
+	@GetMapping(value = "/invoices", params = "view=summary", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamInvoiceSummaries(@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) Integer limit) {
+		StreamingResponseBody body = outputStream -> accountingFilesService
+				.streamInvoiceSummaries(afterIdOrStart(afterId), summaryLimit(afterId, limit), outputStream);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@PostMapping("/invoices/bulk")
+	public ResponseEntity<AccountingImportResult> importInvoices(@RequestBody List<AccountingData> records) {
+		AccountingImportResult result = accountingFilesService.importInvoices(records.iterator());
+		return ResponseEntity.ok(result);
+	}
+
+	@PostMapping(value = "/invoices/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<AccountingImportResult> importInvoiceStream(HttpServletRequest request) throws IOException {
+		AccountingImportResult result = accountingFilesService.importInvoices(request.getInputStream());
+		return ResponseEntity.ok(result);
+	}
+
 	@GetMapping("/invoices/{invoiceId}")
-	public ResponseEntity<AccountingInvoice> getInvoiceById(@PathVariable String invoiceId) {
+	public ResponseEntity<AccountingInvoice> getInvoiceById(@PathVariable String invoiceId, WebRequest request) {
+		AccountingResourceVersion version = accountingFilesService.getInvoiceVersion(invoiceId);
+		if (version == null) {
+			return ResponseEntity.notFound().build();
+		}
+		if (notModified(request, version)) {
+			return null;
+		}
 		AccountingInvoice invoice = accountingFilesService.getInvoiceById(invoiceId);
 		if (invoice != null) {
 			return ResponseEntity.ok(invoice);
@@ -61,6 +172,17 @@ public class AccountingFilesController {
 		}
 	}
 
+	@PatchMapping("/invoices/{invoiceId}")
+	public ResponseEntity<AccountingInvoice> patchInvoice(@PathVariable String invoiceId,
+			@RequestBody AccountingInvoicePatch patch) {
+		AccountingInvoice patchedInvoice = accountingFilesService.patchInvoice(invoiceId, patch);
+		if (patchedInvoice != null) {
+			return ResponseEntity.ok(patchedInvoice);
+		} else {
+			return ResponseEntity.notFound().build();
+		}
+	}
+
 	@DeleteMapping("/invoices/{invoiceId}")
 	public ResponseEntity<Void> deleteInvoice(@PathVariable String invoiceId) {
 		boolean isDeleted = accountingFilesService.deleteInvoice(invoiceId);
@@ -158,13 +280,50 @@ public class AccountingFilesController {
 	// Customer EndPoints
 
 	@GetMapping("/customers")
-	public ResponseEntity<List<AccountingCustomer>> getAllCustomers() {
-		List<AccountingCustomer> customers = accountingFilesService.getAllCustomers();
+	public ResponseEntity<List<AccountingCustomer>> getAllCustomers(@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) Integer limit, WebRequest request) {
+		if (notModified(request, accountingFilesService.getCustomersVersion())) {
+			return null;
+		}
+		if (afterId == null && limit == null) {
+			return new ResponseEntity<>(accountingFilesService.getAllCustomers(), HttpStatus.OK);
+		}
+		List<AccountingCustomer> customers = accountingFilesService.getCustomersPage(afterIdOrStart(afterId),
+				limitOrDefault(limit));
 		return new ResponseEntity<>(customers, HttpStatus.OK);
 	}
 
+	@GetMapping(value = "/customers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamCustomers() {
+		StreamingResponseBody body = accountingFilesService::streamCustomers;
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	// view=summary returns the listing columns only, read as projections instead of entities
+	@GetMapping(value = "/customers", params = "view=summary")
+	public ResponseEntity<List<AccountingCustomerSummary>> getCustomerSummaries(
+			@RequestParam(required = false) Long afterId, @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(accountingFilesService.getCustomerSummaries(afterIdOrStart(afterId),
+				summaryLimit(afterId, limit)));
+	}
+
+	@GetMapping(value = "/customers", params = "view=summary", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamCustomerSummaries(@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) Integer limit) {
+		StreamingResponseBody body = outputStream -> accountingFilesService
+				.streamCustomerSummaries(afterIdOrStart(afterId), summaryLimit(afterId, limit), outputStream);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	@GetMapping("/customers/{customerId}")
-	public ResponseEntity<AccountingCustomer> getCustomerById(@PathVariable Long customerId) {
+	public ResponseEntity<AccountingCustomer> getCustomerById(@PathVariable Long customerId, WebRequest request) {
+		AccountingResourceVersion version = accountingFilesService.getCustomerVersion(customerId);
+		if (version == null) {
+			return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+		}
+		if (notModified(request, version)) {
+			return null;
+		}
 		AccountingCustomer customer = accountingFilesService.getCustomerById(customerId);
 		if (customer != null) {
 			return new ResponseEntity<>(customer, HttpStatus.OK);
@@ -203,13 +362,56 @@ public class AccountingFilesController {
 	// Products EndPoints
 
 	@GetMapping("/products")
-	public ResponseEntity<List<AccountingProduct>> getAllProducts() {
-		List<AccountingProduct> products = accountingFilesService.getAllProducts();
+	public ResponseEntity<List<AccountingProduct>> getAllProducts(@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) Integer limit, WebRequest request) {
+		if (notModified(request, accountingFilesService.getProductsVersion())) {
+			return null;
+		}
+		if (afterId == null && limit == null) {
+			return ResponseEntity.ok(accountingFilesService.getAllProducts());
+		}
+		List<AccountingProduct> products = accountingFilesService.getProductsPage(afterIdOrStart(afterId),
+				limitOrDefault(limit));
 		return ResponseEntity.ok(products);
 	}
 
+	@GetMapping(value = "/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamProducts() {
+		StreamingResponseBody body = accountingFilesService::streamProducts;
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	// view=summary returns the listing columns only, read as projections instead of entities
+	@GetMapping(value = "/products", params = "view=summary")
+	public ResponseEntity<List<AccountingProductSummary>> getProductSummaries(
+			@RequestParam(required = false) Long afterId, @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(accountingFilesService.getProductSummaries(afterIdOrStart(afterId),
+				summaryLimit(afterId, limit)));
+	}
+
+	@GetMapping(value = "/products", params = "view=summary", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamProductSummaries(@RequestParam(required = false) Long afterId,
+			@RequestParam(required = false) Integer limit) {
+		StreamingResponseBody body = outputStream -> accountingFilesService
+				.streamProductSummaries(afterIdOrStart(afterId), summaryLimit(afterId, limit), outputStream);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@GetMapping("/products/cache-stats")
+	public ResponseEntity<AccountingProductCacheStats> getProductCacheStats() {
+		AccountingProductCacheStats stats = cacheStatsService.getProductCacheStats();
+		return ResponseEntity.ok(stats);
+	}
+
 	@GetMapping("/products/{productId}")
-	public ResponseEntity<AccountingProduct> getProductById(@PathVariable Long productId) {
+	public ResponseEntity<AccountingProduct> getProductById(@PathVariable Long productId, WebRequest request) {
+		AccountingResourceVersion version = accountingFilesService.getProductVersion(productId);
+		if (version == null) {
+			return ResponseEntity.notFound().build();
+		}
+		if (notModified(request, version)) {
+			return null;
+		}
 		AccountingProduct product = accountingFilesService.getProductById(productId);
 		if (product != null) {
 			return ResponseEntity.ok(product);
@@ -260,9 +462,30 @@ public class AccountingFilesController {
 	}
 
 	@GetMapping("/customers/{customerId}/invoices")
-	public ResponseEntity<List<AccountingInvoice>> getInvoicesForCustomer(@PathVariable Long customerId) {
-		List<AccountingInvoice> invoices = accountingFilesService.getInvoicesForCustomer(customerId);
-		return ResponseEntity.ok(invoices);
+	public ResponseEntity<List<AccountingInvoice>> getInvoicesForCustomer(@PathVariable Long customerId,
+			@RequestParam(required = false) Long afterId, @RequestParam(required = false) Integer limit,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) Boolean closed) {
+		List<AccountingInvoice> invoices = accountingFilesService.getInvoicesForCustomer(customerId,
+				afterIdOrStart(afterId), limit, from, to, closed);
+		if (invoices != null) {
+			return ResponseEntity.ok(invoices);
+		} else {
+			return ResponseEntity.notFound().build();
+		}
+	}
+
+	@PostMapping("/customers/{customerId}/invoices")
+	public ResponseEntity<AccountingCustomerInvoiceResult> assignInvoicesToCustomer(@PathVariable Long customerId,
+			@RequestBody List<Long> invoiceIds) {
+		AccountingCustomerInvoiceResult result = accountingFilesService.assignInvoicesToCustomer(customerId,
+				invoiceIds);
+		if (result != null) {
+			return ResponseEntity.ok(result);
+		} else {
+			return ResponseEntity.notFound().build();
+		}
 	}
 
 	@GetMapping("/invoices/{invoiceId}/customers")
@@ -292,4 +515,78 @@ public class AccountingFilesController {
 			return ResponseEntity.notFound().build();
 		}
 	}
+
+	// Report EndPoints
+
+	@GetMapping("/reports/balance-sheet")
+	public ResponseEntity<AccountingBalanceSheet> getBalanceSheet() {
+		AccountingBalanceSheet balanceSheet = accountingFilesService.getBalanceSheet();
+		return ResponseEntity.ok(balanceSheet);
+	}
+
+	@GetMapping("/reports/income-statement")
+	public ResponseEntity<AccountingIncomeStatement> getIncomeStatement() {
+		AccountingIncomeStatement incomeStatement = accountingFilesService.getIncomeStatement();
+		return ResponseEntity.ok(incomeStatement);
+	}
+
+	@GetMapping("/reports/cash-flow")
+	public ResponseEntity<AccountingCashFlowStatement> getCashFlowStatement(
+			@RequestParam(defaultValue = "MONTH") String period,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		ReportPeriod reportPeriod = ReportPeriod.valueOf(period.toUpperCase(Locale.ROOT));
+		AccountingCashFlowStatement cashFlowStatement = accountingFilesService.getCashFlowStatement(reportPeriod,
+				from, to);
+		return ResponseEntity.ok(cashFlowStatement);
+	}
+
+	@GetMapping("/reports/revenue")
+	public ResponseEntity<AccountingRevenueReport> getRevenueReport(
+			@RequestParam(defaultValue = "MONTH") String period,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) Long customerId) {
+		ReportPeriod reportPeriod = ReportPeriod.valueOf(period.toUpperCase(Locale.ROOT));
+		AccountingRevenueReport revenueReport = accountingFilesService.getRevenueReport(reportPeriod, from, to,
+				customerId);
+		return ResponseEntity.ok(revenueReport);
+	}
+
+	@PostMapping("/reports/{type}")
+	public ResponseEntity<AccountingReportJob> submitReportJob(@PathVariable String type) {
+		AccountingReportJob job = reportJobService.submit(ReportType.fromPath(type));
+		URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/accounting.files/reports/jobs/{jobId}").buildAndExpand(job.getJobId()).toUri();
+		return ResponseEntity.accepted().location(location).body(job);
+	}
+
+	@GetMapping("/reports/jobs/{jobId}")
+	public ResponseEntity<AccountingReportJob> getReportJob(@PathVariable String jobId) {
+		AccountingReportJob job = reportJobService.getJob(jobId);
+		if (job != null) {
+			return ResponseEntity.ok(job);
+		} else {
+			return ResponseEntity.notFound().build();
+		}
+	}
+
+	@GetMapping("/reports/customer-assets")
+	public ResponseEntity<List<AccountingCustomerAssets>> getCustomerAssets(
+			@RequestParam(required = false) Long afterId, @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(accountingFilesService.getCustomerAssets(afterIdOrStart(afterId),
+				limitOrDefault(limit)));
+	}
+
+	@GetMapping("/reports/ledger/verify")
+	public ResponseEntity<AccountingLedgerVerification> verifyLedger() {
+		AccountingLedgerVerification verification = accountingFilesService.verifyLedger();
+		return ResponseEntity.ok(verification);
+	}
+
+	@PostMapping("/reports/ledger/rebuild")
+	public ResponseEntity<AccountingLedgerVerification> rebuildLedger() {
+		AccountingLedgerVerification verification = accountingFilesService.rebuildLedger();
+		return ResponseEntity.ok(verification);
+	}
 }
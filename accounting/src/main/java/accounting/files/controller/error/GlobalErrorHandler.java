@@ -3,8 +3,12 @@ package accounting.files.controller.error;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import lombok.extern.slf4j.Slf4j;
@@ -19,4 +23,31 @@ public class GlobalErrorHandler {
 		errorResponse.put(Messages.getString("GlobalErrorHandler.1"), ex.toString()); //$NON-NLS-1$
 		return errorResponse;
 	}
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public Map<String, String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+		log.warn(Messages.getString("GlobalErrorHandler.2"), ex.getMessage()); //$NON-NLS-1$
+		Map<String, String> errorResponse = new HashMap<>();
+		errorResponse.put(Messages.getString("GlobalErrorHandler.1"), ex.getMessage()); //$NON-NLS-1$
+		return errorResponse;
+	}
+
+	@ExceptionHandler(IllegalArgumentException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public Map<String, String> handleIllegalArgumentException(IllegalArgumentException ex) {
+		log.warn(Messages.getString("GlobalErrorHandler.3"), ex.getMessage()); //$NON-NLS-1$
+		Map<String, String> errorResponse = new HashMap<>();
+		errorResponse.put(Messages.getString("GlobalErrorHandler.1"), ex.getMessage()); //$NON-NLS-1$
+		return errorResponse;
+	}
+
+	@ExceptionHandler(RejectedExecutionException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	public Map<String, String> handleRejectedExecutionException(RejectedExecutionException ex) {
+		log.warn(Messages.getString("GlobalErrorHandler.4"), ex.getMessage()); //$NON-NLS-1$
+		Map<String, String> errorResponse = new HashMap<>();
+		errorResponse.put(Messages.getString("GlobalErrorHandler.1"), ex.getMessage()); //$NON-NLS-1$
+		return errorResponse;
+	}
 }
@@ -0,0 +1,42 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+
+public class AccountingBalanceSheet {
+	private BigDecimal totalAssets;
+	private BigDecimal totalLiabilities;
+	private BigDecimal totalEquity;
+
+	public AccountingBalanceSheet() {
+	}
+
+	public AccountingBalanceSheet(BigDecimal totalAssets, BigDecimal totalLiabilities, BigDecimal totalEquity) {
+		this.totalAssets = totalAssets;
+		this.totalLiabilities = totalLiabilities;
+		this.totalEquity = totalEquity;
+	}
+
+	public BigDecimal getTotalAssets() {
+		return totalAssets;
+	}
+
+	public void setTotalAssets(BigDecimal totalAssets) {
+		this.totalAssets = totalAssets;
+	}
+
+	public BigDecimal getTotalLiabilities() {
+		return totalLiabilities;
+	}
+
+	public void setTotalLiabilities(BigDecimal totalLiabilities) {
+		this.totalLiabilities = totalLiabilities;
+	}
+
+	public BigDecimal getTotalEquity() {
+		return totalEquity;
+	}
+
+	public void setTotalEquity(BigDecimal totalEquity) {
+		this.totalEquity = totalEquity;
+	}
+}
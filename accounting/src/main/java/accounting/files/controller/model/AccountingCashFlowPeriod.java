@@ -0,0 +1,85 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class AccountingCashFlowPeriod {
+	private LocalDate periodStart;
+	private LocalDate periodEnd;
+	private long invoiceCount;
+	private BigDecimal operatingCashFlow;
+	private BigDecimal investingCashFlow;
+	private BigDecimal financingCashFlow;
+	private BigDecimal netCashFlow;
+
+	public AccountingCashFlowPeriod() {
+	}
+
+	public AccountingCashFlowPeriod(LocalDate periodStart, LocalDate periodEnd, long invoiceCount,
+			BigDecimal operatingCashFlow, BigDecimal investingCashFlow, BigDecimal financingCashFlow,
+			BigDecimal netCashFlow) {
+		this.periodStart = periodStart;
+		this.periodEnd = periodEnd;
+		this.invoiceCount = invoiceCount;
+		this.operatingCashFlow = operatingCashFlow;
+		this.investingCashFlow = investingCashFlow;
+		this.financingCashFlow = financingCashFlow;
+		this.netCashFlow = netCashFlow;
+	}
+
+	public LocalDate getPeriodStart() {
+		return periodStart;
+	}
+
+	public void setPeriodStart(LocalDate periodStart) {
+		this.periodStart = periodStart;
+	}
+
+	public LocalDate getPeriodEnd() {
+		return periodEnd;
+	}
+
+	public void setPeriodEnd(LocalDate periodEnd) {
+		this.periodEnd = periodEnd;
+	}
+
+	public long getInvoiceCount() {
+		return invoiceCount;
+	}
+
+	public void setInvoiceCount(long invoiceCount) {
+		this.invoiceCount = invoiceCount;
+	}
+
+	public BigDecimal getOperatingCashFlow() {
+		return operatingCashFlow;
+	}
+
+	public void setOperatingCashFlow(BigDecimal operatingCashFlow) {
+		this.operatingCashFlow = operatingCashFlow;
+	}
+
+	public BigDecimal getInvestingCashFlow() {
+		return investingCashFlow;
+	}
+
+	public void setInvestingCashFlow(BigDecimal investingCashFlow) {
+		this.investingCashFlow = investingCashFlow;
+	}
+
+	public BigDecimal getFinancingCashFlow() {
+		return financingCashFlow;
+	}
+
+	public void setFinancingCashFlow(BigDecimal financingCashFlow) {
+		this.financingCashFlow = financingCashFlow;
+	}
+
+	public BigDecimal getNetCashFlow() {
+		return netCashFlow;
+	}
+
+	public void setNetCashFlow(BigDecimal netCashFlow) {
+		this.netCashFlow = netCashFlow;
+	}
+}
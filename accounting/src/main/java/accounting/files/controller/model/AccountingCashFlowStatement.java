@@ -0,0 +1,96 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class AccountingCashFlowStatement {
+	private String period;
+	private LocalDate from;
+	private LocalDate to;
+	private List<AccountingCashFlowPeriod> periods;
+	private BigDecimal operatingCashFlow;
+	private BigDecimal investingCashFlow;
+	private BigDecimal financingCashFlow;
+	private BigDecimal netCashFlow;
+
+	public AccountingCashFlowStatement() {
+	}
+
+	public AccountingCashFlowStatement(String period, LocalDate from, LocalDate to,
+			List<AccountingCashFlowPeriod> periods, BigDecimal operatingCashFlow, BigDecimal investingCashFlow,
+			BigDecimal financingCashFlow, BigDecimal netCashFlow) {
+		this.period = period;
+		this.from = from;
+		this.to = to;
+		this.periods = periods;
+		this.operatingCashFlow = operatingCashFlow;
+		this.investingCashFlow = investingCashFlow;
+		this.financingCashFlow = financingCashFlow;
+		this.netCashFlow = netCashFlow;
+	}
+
+	public String getPeriod() {
+		return period;
+	}
+
+	public void setPeriod(String period) {
+		this.period = period;
+	}
+
+	public LocalDate getFrom() {
+		return from;
+	}
+
+	public void setFrom(LocalDate from) {
+		this.from = from;
+	}
+
+	public LocalDate getTo() {
+		return to;
+	}
+
+	public void setTo(LocalDate to) {
+		this.to = to;
+	}
+
+	public List<AccountingCashFlowPeriod> getPeriods() {
+		return periods;
+	}
+
+	public void setPeriods(List<AccountingCashFlowPeriod> periods) {
+		this.periods = periods;
+	}
+
+	public BigDecimal getOperatingCashFlow() {
+		return operatingCashFlow;
+	}
+
+	public void setOperatingCashFlow(BigDecimal operatingCashFlow) {
+		this.operatingCashFlow = operatingCashFlow;
+	}
+
+	public BigDecimal getInvestingCashFlow() {
+		return investingCashFlow;
+	}
+
+	public void setInvestingCashFlow(BigDecimal investingCashFlow) {
+		this.investingCashFlow = investingCashFlow;
+	}
+
+	public BigDecimal getFinancingCashFlow() {
+		return financingCashFlow;
+	}
+
+	public void setFinancingCashFlow(BigDecimal financingCashFlow) {
+		this.financingCashFlow = financingCashFlow;
+	}
+
+	public BigDecimal getNetCashFlow() {
+		return netCashFlow;
+	}
+
+	public void setNetCashFlow(BigDecimal netCashFlow) {
+		this.netCashFlow = netCashFlow;
+	}
+}
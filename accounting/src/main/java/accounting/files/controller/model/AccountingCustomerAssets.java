@@ -0,0 +1,42 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+
+public class AccountingCustomerAssets {
+	private Long customerId;
+	private long invoiceCount;
+	private BigDecimal assets;
+
+	public AccountingCustomerAssets() {
+	}
+
+	public AccountingCustomerAssets(Long customerId, long invoiceCount, BigDecimal assets) {
+		this.customerId = customerId;
+		this.invoiceCount = invoiceCount;
+		this.assets = assets;
+	}
+
+	public Long getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(Long customerId) {
+		this.customerId = customerId;
+	}
+
+	public long getInvoiceCount() {
+		return invoiceCount;
+	}
+
+	public void setInvoiceCount(long invoiceCount) {
+		this.invoiceCount = invoiceCount;
+	}
+
+	public BigDecimal getAssets() {
+		return assets;
+	}
+
+	public void setAssets(BigDecimal assets) {
+		this.assets = assets;
+	}
+}
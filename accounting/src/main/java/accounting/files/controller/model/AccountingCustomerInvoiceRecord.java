@@ -0,0 +1,44 @@
+package accounting.files.controller.model;
+
+public class AccountingCustomerInvoiceRecord {
+	public static final String ASSIGNED = "ASSIGNED";
+	public static final String UNCHANGED = "UNCHANGED";
+	public static final String NOT_FOUND = "NOT_FOUND";
+
+	private String invoiceId;
+	private String status;
+	private String message;
+
+	public AccountingCustomerInvoiceRecord() {
+	}
+
+	public AccountingCustomerInvoiceRecord(String invoiceId, String status, String message) {
+		this.invoiceId = invoiceId;
+		this.status = status;
+		this.message = message;
+	}
+
+	public String getInvoiceId() {
+		return invoiceId;
+	}
+
+	public void setInvoiceId(String invoiceId) {
+		this.invoiceId = invoiceId;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
@@ -0,0 +1,52 @@
+package accounting.files.controller.model;
+
+import java.util.List;
+
+public class AccountingCustomerInvoiceResult {
+	private Long customerId;
+	private int requested;
+	private int assigned;
+	private List<AccountingCustomerInvoiceRecord> records;
+
+	public AccountingCustomerInvoiceResult() {
+	}
+
+	public AccountingCustomerInvoiceResult(Long customerId, int requested, int assigned, List<AccountingCustomerInvoiceRecord> records) {
+		this.customerId = customerId;
+		this.requested = requested;
+		this.assigned = assigned;
+		this.records = records;
+	}
+
+	public Long getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(Long customerId) {
+		this.customerId = customerId;
+	}
+
+	public int getRequested() {
+		return requested;
+	}
+
+	public void setRequested(int requested) {
+		this.requested = requested;
+	}
+
+	public int getAssigned() {
+		return assigned;
+	}
+
+	public void setAssigned(int assigned) {
+		this.assigned = assigned;
+	}
+
+	public List<AccountingCustomerInvoiceRecord> getRecords() {
+		return records;
+	}
+
+	public void setRecords(List<AccountingCustomerInvoiceRecord> records) {
+		this.records = records;
+	}
+}
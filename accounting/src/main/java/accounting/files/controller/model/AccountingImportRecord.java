@@ -0,0 +1,53 @@
+package accounting.files.controller.model;
+
+public class AccountingImportRecord {
+	public static final String IMPORTED = "IMPORTED";
+	public static final String FAILED = "FAILED";
+
+	private int index;
+	private String invoiceId;
+	private String status;
+	private String message;
+
+	public AccountingImportRecord() {
+	}
+
+	public AccountingImportRecord(int index, String invoiceId, String status, String message) {
+		this.index = index;
+		this.invoiceId = invoiceId;
+		this.status = status;
+		this.message = message;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public String getInvoiceId() {
+		return invoiceId;
+	}
+
+	public void setInvoiceId(String invoiceId) {
+		this.invoiceId = invoiceId;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
@@ -0,0 +1,75 @@
+package accounting.files.controller.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccountingImportResult {
+	private int received;
+	private int imported;
+	private int failed;
+	private long rowsWritten;
+	private long elapsedMillis;
+	private List<AccountingImportRecord> records = new ArrayList<>();
+
+	public void addRecord(AccountingImportRecord record) {
+		records.add(record);
+		received++;
+		if (AccountingImportRecord.IMPORTED.equals(record.getStatus())) {
+			imported++;
+		} else {
+			failed++;
+		}
+	}
+
+	public int getReceived() {
+		return received;
+	}
+
+	public void setReceived(int received) {
+		this.received = received;
+	}
+
+	public int getImported() {
+		return imported;
+	}
+
+	public void setImported(int imported) {
+		this.imported = imported;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	public void setFailed(int failed) {
+		this.failed = failed;
+	}
+
+	public long getRowsWritten() {
+		return rowsWritten;
+	}
+
+	public void setRowsWritten(long rowsWritten) {
+		this.rowsWritten = rowsWritten;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public double getRowsPerSecond() {
+		return elapsedMillis == 0 ? rowsWritten : rowsWritten * 1000.0 / elapsedMillis;
+	}
+
+	public List<AccountingImportRecord> getRecords() {
+		return records;
+	}
+
+	public void setRecords(List<AccountingImportRecord> records) {
+		this.records = records;
+	}
+}
@@ -0,0 +1,42 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+
+public class AccountingIncomeStatement {
+	private BigDecimal totalRevenue;
+	private BigDecimal totalExpenses;
+	private BigDecimal netIncome;
+
+	public AccountingIncomeStatement() {
+	}
+
+	public AccountingIncomeStatement(BigDecimal totalRevenue, BigDecimal totalExpenses, BigDecimal netIncome) {
+		this.totalRevenue = totalRevenue;
+		this.totalExpenses = totalExpenses;
+		this.netIncome = netIncome;
+	}
+
+	public BigDecimal getTotalRevenue() {
+		return totalRevenue;
+	}
+
+	public void setTotalRevenue(BigDecimal totalRevenue) {
+		this.totalRevenue = totalRevenue;
+	}
+
+	public BigDecimal getTotalExpenses() {
+		return totalExpenses;
+	}
+
+	public void setTotalExpenses(BigDecimal totalExpenses) {
+		this.totalExpenses = totalExpenses;
+	}
+
+	public BigDecimal getNetIncome() {
+		return netIncome;
+	}
+
+	public void setNetIncome(BigDecimal netIncome) {
+		this.netIncome = netIncome;
+	}
+}
@@ -1,5 +1,6 @@
 package accounting.files.controller.model;
 
+import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 
@@ -9,9 +10,10 @@ public class AccountingInvoice {
 	private String invoiceId;
 	private Customer customer;
 	private Date invoiceDate;
-	private double totalAmount;
+	private BigDecimal totalAmount;
 	private List<AccountingInvoiceItem> items;
 	private boolean closed;
+	private Long version;
 
 	public String getInvoiceId() {
 		return invoiceId;
@@ -37,11 +39,11 @@ public class AccountingInvoice {
 		this.invoiceDate = invoiceDate;
 	}
 
-	public double getTotalAmount() {
+	public BigDecimal getTotalAmount() {
 		return totalAmount;
 	}
 
-	public void setTotalAmount(double totalAmount) {
+	public void setTotalAmount(BigDecimal totalAmount) {
 		this.totalAmount = totalAmount;
 	}
 
@@ -61,8 +63,17 @@ public class AccountingInvoice {
 		this.closed = closed;
 	}
 
+	// Sent back on an update, the update only applies while the invoice is still at this version
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public boolean isPaid() {
-		return totalAmount > 0.0;
+		return totalAmount != null && totalAmount.signum() > 0;
 
 	}
 }
@@ -0,0 +1,64 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+// Partial invoice update; a null field is left as it is
+public class AccountingInvoicePatch {
+	private Long version;
+	private Date invoiceDate;
+	private BigDecimal totalAmount;
+	private Boolean closed;
+	private Long customerId;
+
+	public AccountingInvoicePatch() {
+	}
+
+	public AccountingInvoicePatch(Long version, Date invoiceDate, BigDecimal totalAmount, Boolean closed, Long customerId) {
+		this.version = version;
+		this.invoiceDate = invoiceDate;
+		this.totalAmount = totalAmount;
+		this.closed = closed;
+		this.customerId = customerId;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public Date getInvoiceDate() {
+		return invoiceDate;
+	}
+
+	public void setInvoiceDate(Date invoiceDate) {
+		this.invoiceDate = invoiceDate;
+	}
+
+	public BigDecimal getTotalAmount() {
+		return totalAmount;
+	}
+
+	public void setTotalAmount(BigDecimal totalAmount) {
+		this.totalAmount = totalAmount;
+	}
+
+	public Boolean getClosed() {
+		return closed;
+	}
+
+	public void setClosed(Boolean closed) {
+		this.closed = closed;
+	}
+
+	public Long getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(Long customerId) {
+		this.customerId = customerId;
+	}
+}
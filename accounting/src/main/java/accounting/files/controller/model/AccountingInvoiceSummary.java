@@ -0,0 +1,63 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public class AccountingInvoiceSummary {
+	private String invoiceId;
+	private Long customerId;
+	private Date invoiceDate;
+	private BigDecimal totalAmount;
+	private boolean closed;
+
+	public AccountingInvoiceSummary() {
+	}
+
+	public AccountingInvoiceSummary(String invoiceId, Long customerId, Date invoiceDate, BigDecimal totalAmount, boolean closed) {
+		this.invoiceId = invoiceId;
+		this.customerId = customerId;
+		this.invoiceDate = invoiceDate;
+		this.totalAmount = totalAmount;
+		this.closed = closed;
+	}
+
+	public String getInvoiceId() {
+		return invoiceId;
+	}
+
+	public void setInvoiceId(String invoiceId) {
+		this.invoiceId = invoiceId;
+	}
+
+	public Long getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(Long customerId) {
+		this.customerId = customerId;
+	}
+
+	public Date getInvoiceDate() {
+		return invoiceDate;
+	}
+
+	public void setInvoiceDate(Date invoiceDate) {
+		this.invoiceDate = invoiceDate;
+	}
+
+	public BigDecimal getTotalAmount() {
+		return totalAmount;
+	}
+
+	public void setTotalAmount(BigDecimal totalAmount) {
+		this.totalAmount = totalAmount;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	public void setClosed(boolean closed) {
+		this.closed = closed;
+	}
+}
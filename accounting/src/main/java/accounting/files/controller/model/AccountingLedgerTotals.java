@@ -0,0 +1,53 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+
+public class AccountingLedgerTotals {
+	private BigDecimal totalRevenue;
+	private BigDecimal totalExpenses;
+	private BigDecimal totalAssets;
+	private BigDecimal totalLiabilities;
+
+	public AccountingLedgerTotals() {
+	}
+
+	public AccountingLedgerTotals(BigDecimal totalRevenue, BigDecimal totalExpenses, BigDecimal totalAssets,
+			BigDecimal totalLiabilities) {
+		this.totalRevenue = totalRevenue;
+		this.totalExpenses = totalExpenses;
+		this.totalAssets = totalAssets;
+		this.totalLiabilities = totalLiabilities;
+	}
+
+	public BigDecimal getTotalRevenue() {
+		return totalRevenue;
+	}
+
+	public void setTotalRevenue(BigDecimal totalRevenue) {
+		this.totalRevenue = totalRevenue;
+	}
+
+	public BigDecimal getTotalExpenses() {
+		return totalExpenses;
+	}
+
+	public void setTotalExpenses(BigDecimal totalExpenses) {
+		this.totalExpenses = totalExpenses;
+	}
+
+	public BigDecimal getTotalAssets() {
+		return totalAssets;
+	}
+
+	public void setTotalAssets(BigDecimal totalAssets) {
+		this.totalAssets = totalAssets;
+	}
+
+	public BigDecimal getTotalLiabilities() {
+		return totalLiabilities;
+	}
+
+	public void setTotalLiabilities(BigDecimal totalLiabilities) {
+		this.totalLiabilities = totalLiabilities;
+	}
+}
@@ -0,0 +1,61 @@
+package accounting.files.controller.model;
+
+public class AccountingLedgerVerification {
+	private AccountingLedgerTotals ledger;
+	private AccountingLedgerTotals recomputed;
+	private AccountingLedgerTotals drift;
+	private boolean consistent;
+	private boolean rebuilt;
+
+	public AccountingLedgerVerification() {
+	}
+
+	public AccountingLedgerVerification(AccountingLedgerTotals ledger, AccountingLedgerTotals recomputed,
+			AccountingLedgerTotals drift, boolean consistent, boolean rebuilt) {
+		this.ledger = ledger;
+		this.recomputed = recomputed;
+		this.drift = drift;
+		this.consistent = consistent;
+		this.rebuilt = rebuilt;
+	}
+
+	public AccountingLedgerTotals getLedger() {
+		return ledger;
+	}
+
+	public void setLedger(AccountingLedgerTotals ledger) {
+		this.ledger = ledger;
+	}
+
+	public AccountingLedgerTotals getRecomputed() {
+		return recomputed;
+	}
+
+	public void setRecomputed(AccountingLedgerTotals recomputed) {
+		this.recomputed = recomputed;
+	}
+
+	public AccountingLedgerTotals getDrift() {
+		return drift;
+	}
+
+	public void setDrift(AccountingLedgerTotals drift) {
+		this.drift = drift;
+	}
+
+	public boolean isConsistent() {
+		return consistent;
+	}
+
+	public void setConsistent(boolean consistent) {
+		this.consistent = consistent;
+	}
+
+	public boolean isRebuilt() {
+		return rebuilt;
+	}
+
+	public void setRebuilt(boolean rebuilt) {
+		this.rebuilt = rebuilt;
+	}
+}
@@ -0,0 +1,42 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+
+public class AccountingProductSummary {
+	private Long productId;
+	private String name;
+	private BigDecimal price;
+
+	public AccountingProductSummary() {
+	}
+
+	public AccountingProductSummary(Long productId, String name, BigDecimal price) {
+		this.productId = productId;
+		this.name = name;
+		this.price = price;
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public void setProductId(Long productId) {
+		this.productId = productId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+
+	public void setPrice(BigDecimal price) {
+		this.price = price;
+	}
+}
@@ -0,0 +1,88 @@
+package accounting.files.controller.model;
+
+import java.util.Date;
+
+public class AccountingReportJob {
+	public static final String QUEUED = "QUEUED";
+	public static final String RUNNING = "RUNNING";
+	public static final String SUCCEEDED = "SUCCEEDED";
+	public static final String FAILED = "FAILED";
+
+	private String jobId;
+	private String type;
+	private String status;
+	private Date submittedAt;
+	private Date completedAt;
+	private String result;
+	private String error;
+
+	public AccountingReportJob() {
+	}
+
+	public AccountingReportJob(String jobId, String type, String status, Date submittedAt, Date completedAt,
+			String result, String error) {
+		this.jobId = jobId;
+		this.type = type;
+		this.status = status;
+		this.submittedAt = submittedAt;
+		this.completedAt = completedAt;
+		this.result = result;
+		this.error = error;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public void setJobId(String jobId) {
+		this.jobId = jobId;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public Date getSubmittedAt() {
+		return submittedAt;
+	}
+
+	public void setSubmittedAt(Date submittedAt) {
+		this.submittedAt = submittedAt;
+	}
+
+	public Date getCompletedAt() {
+		return completedAt;
+	}
+
+	public void setCompletedAt(Date completedAt) {
+		this.completedAt = completedAt;
+	}
+
+	public String getResult() {
+		return result;
+	}
+
+	public void setResult(String result) {
+		this.result = result;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+}
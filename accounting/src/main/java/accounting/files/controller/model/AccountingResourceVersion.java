@@ -0,0 +1,32 @@
+package accounting.files.controller.model;
+
+import java.util.Date;
+
+public class AccountingResourceVersion {
+	private String etag;
+	private Date lastModified;
+
+	public AccountingResourceVersion() {
+	}
+
+	public AccountingResourceVersion(String etag, Date lastModified) {
+		this.etag = etag;
+		this.lastModified = lastModified;
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	public void setEtag(String etag) {
+		this.etag = etag;
+	}
+
+	public Date getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(Date lastModified) {
+		this.lastModified = lastModified;
+	}
+}
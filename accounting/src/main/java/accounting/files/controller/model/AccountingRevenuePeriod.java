@@ -0,0 +1,53 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class AccountingRevenuePeriod {
+	private LocalDate periodStart;
+	private LocalDate periodEnd;
+	private BigDecimal revenue;
+	private long invoiceCount;
+
+	public AccountingRevenuePeriod() {
+	}
+
+	public AccountingRevenuePeriod(LocalDate periodStart, LocalDate periodEnd, BigDecimal revenue, long invoiceCount) {
+		this.periodStart = periodStart;
+		this.periodEnd = periodEnd;
+		this.revenue = revenue;
+		this.invoiceCount = invoiceCount;
+	}
+
+	public LocalDate getPeriodStart() {
+		return periodStart;
+	}
+
+	public void setPeriodStart(LocalDate periodStart) {
+		this.periodStart = periodStart;
+	}
+
+	public LocalDate getPeriodEnd() {
+		return periodEnd;
+	}
+
+	public void setPeriodEnd(LocalDate periodEnd) {
+		this.periodEnd = periodEnd;
+	}
+
+	public BigDecimal getRevenue() {
+		return revenue;
+	}
+
+	public void setRevenue(BigDecimal revenue) {
+		this.revenue = revenue;
+	}
+
+	public long getInvoiceCount() {
+		return invoiceCount;
+	}
+
+	public void setInvoiceCount(long invoiceCount) {
+		this.invoiceCount = invoiceCount;
+	}
+}
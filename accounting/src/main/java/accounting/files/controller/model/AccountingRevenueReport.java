@@ -0,0 +1,85 @@
+package accounting.files.controller.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class AccountingRevenueReport {
+	private String period;
+	private LocalDate from;
+	private LocalDate to;
+	private Long customerId;
+	private List<AccountingRevenuePeriod> periods;
+	private BigDecimal totalRevenue;
+	private long invoiceCount;
+
+	public AccountingRevenueReport() {
+	}
+
+	public AccountingRevenueReport(String period, LocalDate from, LocalDate to, Long customerId,
+			List<AccountingRevenuePeriod> periods, BigDecimal totalRevenue, long invoiceCount) {
+		this.period = period;
+		this.from = from;
+		this.to = to;
+		this.customerId = customerId;
+		this.periods = periods;
+		this.totalRevenue = totalRevenue;
+		this.invoiceCount = invoiceCount;
+	}
+
+	public String getPeriod() {
+		return period;
+	}
+
+	public void setPeriod(String period) {
+		this.period = period;
+	}
+
+	public LocalDate getFrom() {
+		return from;
+	}
+
+	public void setFrom(LocalDate from) {
+		this.from = from;
+	}
+
+	public LocalDate getTo() {
+		return to;
+	}
+
+	public void setTo(LocalDate to) {
+		this.to = to;
+	}
+
+	public Long getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(Long customerId) {
+		this.customerId = customerId;
+	}
+
+	public List<AccountingRevenuePeriod> getPeriods() {
+		return periods;
+	}
+
+	public void setPeriods(List<AccountingRevenuePeriod> periods) {
+		this.periods = periods;
+	}
+
+	public BigDecimal getTotalRevenue() {
+		return totalRevenue;
+	}
+
+	public void setTotalRevenue(BigDecimal totalRevenue) {
+		this.totalRevenue = totalRevenue;
+	}
+
+	public long getInvoiceCount() {
+		return invoiceCount;
+	}
+
+	public void setInvoiceCount(long invoiceCount) {
+		this.invoiceCount = invoiceCount;
+	}
+}
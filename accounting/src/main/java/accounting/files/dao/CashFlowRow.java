@@ -0,0 +1,19 @@
+package accounting.files.dao;
+
+import java.util.Date;
+
+public interface CashFlowRow {
+
+	Long getInvoiceId();
+
+	Date getInvoiceDate();
+
+	Long getTotalAmountCents();
+
+	String getCategory();
+
+	Long getPriceCents();
+
+	Integer getQuantity();
+
+}
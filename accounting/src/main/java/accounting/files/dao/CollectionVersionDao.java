@@ -0,0 +1,38 @@
+package accounting.files.dao;
+
+import java.util.Collection;
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import accounting.files.entity.CollectionVersion;
+import accounting.files.entity.CollectionVersionId;
+
+@Repository
+public interface CollectionVersionDao extends JpaRepository<CollectionVersion, CollectionVersionId> {
+
+	// Incremented in place, so concurrent bumps of one stripe each count
+	@Modifying
+	@Query("update CollectionVersion c set c.version = c.version + 1, c.updatedAt = :updatedAt "
+			+ "where c.id.stripe = :stripe and c.id.collection in :collections")
+	int bump(@Param("collections") Collection<String> collections, @Param("stripe") int stripe,
+			@Param("updatedAt") Date updatedAt);
+
+	// The stripes are seeded by migration; this only restores one, already counting the bump that
+	// found it missing, should it have been deleted
+	@Modifying
+	@Query(value = "insert into collection_versions (collection, stripe, version, updated_at) "
+			+ "values (:collection, :stripe, 1, :updatedAt) on duplicate key update collection = collection",
+			nativeQuery = true)
+	int insertIfMissing(@Param("collection") String collection, @Param("stripe") int stripe,
+			@Param("updatedAt") Date updatedAt);
+
+	@Query("select sum(c.version) as version, max(c.updatedAt) as updatedAt from CollectionVersion c "
+			+ "where c.id.collection = :collection")
+	EntityVersion findVersion(@Param("collection") String collection);
+
+}
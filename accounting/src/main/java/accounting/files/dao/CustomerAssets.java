@@ -0,0 +1,11 @@
+package accounting.files.dao;
+
+public interface CustomerAssets {
+
+	Long getCustomerId();
+
+	Long getInvoiceCount();
+
+	Long getAssetsCents();
+
+}
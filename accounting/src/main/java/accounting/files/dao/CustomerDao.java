@@ -1,9 +1,39 @@
 package accounting.files.dao;
 
-import accounting.files.entity.Customer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import accounting.files.entity.Customer;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CustomerDao extends JpaRepository<Customer, Long> {
+
+	@Query("select c.customerId from Customer c where c.customerId in :customerIds")
+	List<Long> findExistingCustomerIds(@Param("customerIds") Collection<Long> customerIds);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<Customer> findByCustomerIdGreaterThanOrderByCustomerIdAsc(Long afterId, Pageable pageable);
+
+	@Query("select c.version as version, c.updatedAt as updatedAt from Customer c where c.customerId = :customerId")
+	Optional<EntityVersion> findVersionByCustomerId(@Param("customerId") Long customerId);
+
+	@Query("select c.customerId as customerId, c.firstName as firstName, c.lastName as lastName from Customer c "
+			+ "where c.customerId > :afterId order by c.customerId")
+	List<CustomerSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("select c from Customer c order by c.customerId")
+	Stream<Customer> streamAllOrderByCustomerId();
+
 }
@@ -0,0 +1,11 @@
+package accounting.files.dao;
+
+public interface CustomerSummary {
+
+	Long getCustomerId();
+
+	String getFirstName();
+
+	String getLastName();
+
+}
@@ -0,0 +1,11 @@
+package accounting.files.dao;
+
+import java.util.Date;
+
+public interface EntityVersion {
+
+	Long getVersion();
+
+	Date getUpdatedAt();
+
+}
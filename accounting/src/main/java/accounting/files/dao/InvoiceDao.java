@@ -1,9 +1,99 @@
 package accounting.files.dao;
 
-import accounting.files.entity.Invoice;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import accounting.files.entity.Customer;
+import accounting.files.entity.Invoice;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface InvoiceDao extends JpaRepository<Invoice, Long> {
+
+	@Query("select i.invoiceId from Invoice i where i.invoiceId > :afterId order by i.invoiceId")
+	List<Long> findInvoiceIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	@Query("select i.invoiceId from Invoice i where i.invoiceId > :afterId and i.invoiceId <= :lastId "
+			+ "order by i.invoiceId")
+	List<Long> findInvoiceIdsInRange(@Param("afterId") Long afterId, @Param("lastId") Long lastId, Pageable pageable);
+
+	@Query("select min(i.invoiceId) as minId, max(i.invoiceId) as maxId from Invoice i")
+	InvoiceIdRange findInvoiceIdRange();
+
+	// Conditional requests are answered from these without loading the invoice
+	@Query("select i.version as version, i.updatedAt as updatedAt, c.version as customerVersion, "
+			+ "c.updatedAt as customerUpdatedAt from Invoice i left join i.customer c where i.invoiceId = :invoiceId")
+	Optional<InvoiceVersion> findVersionByInvoiceId(@Param("invoiceId") Long invoiceId);
+
+	// Summary rows for list views; scalar columns only, so nothing enters the persistence context
+	@Query("select i.invoiceId as invoiceId, c.customerId as customerId, i.invoiceDate as invoiceDate, "
+			+ "i.totalAmountCents as totalAmountCents, i.closed as closed from Invoice i left join i.customer c "
+			+ "where i.invoiceId > :afterId order by i.invoiceId")
+	List<InvoiceSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	// Keyset page of one customer's invoices read straight off the customer_id foreign key, so the
+	// customer and its invoice collection are never loaded
+	@Query("select i.invoiceId from Invoice i where i.customer.customerId = :customerId and i.invoiceId > :afterId "
+			+ "and (:from is null or i.invoiceDate >= :from) and (:to is null or i.invoiceDate < :to) "
+			+ "and (:closed is null or i.closed = :closed) order by i.invoiceId")
+	List<Long> findInvoiceIdsForCustomer(@Param("customerId") Long customerId, @Param("afterId") Long afterId,
+			@Param("from") Date from, @Param("to") Date to, @Param("closed") Boolean closed, Pageable pageable);
+
+	// Assets per customer in one grouped statement, valued the same way as FinancialTotals
+	@Query("select i.customer.customerId as customerId, count(distinct i.invoiceId) as invoiceCount, "
+			+ "coalesce(sum(p.priceCents * it.quantity), 0L) as assetsCents from Invoice i "
+			+ "left join i.items it left join Product p on p.productId = it.productId "
+			+ "where i.customer.customerId > :afterId group by i.customer.customerId order by i.customer.customerId")
+	List<CustomerAssets> sumAssetsByCustomer(@Param("afterId") Long afterId, Pageable pageable);
+
+	// Existence, current owner and valuation of a batch of invoices, priced the same way as the ledger
+	@Query("select i.invoiceId as invoiceId, c.customerId as customerId, i.invoiceDate as invoiceDate, "
+			+ "i.totalAmountCents as totalAmountCents, coalesce(sum(p.priceCents * it.quantity), 0L) as expensesCents "
+			+ "from Invoice i left join i.customer c left join i.items it left join Product p on p.productId = it.productId "
+			+ "where i.invoiceId in :invoiceIds group by i.invoiceId, c.customerId, i.invoiceDate, i.totalAmountCents")
+	List<InvoiceOwnership> findOwnershipByInvoiceIdIn(@Param("invoiceIds") Collection<Long> invoiceIds);
+
+	@Modifying
+	// Bypasses dirty checking, so it bumps the version and update time itself
+	@Query("update Invoice i set i.customer = :customer, i.version = i.version + 1, i.updatedAt = :updatedAt "
+			+ "where i.invoiceId in :invoiceIds")
+	int assignCustomer(@Param("customer") Customer customer, @Param("invoiceIds") Collection<Long> invoiceIds,
+			@Param("updatedAt") Date updatedAt);
+
+	// Loads a window of invoices together with their customer and items in a single statement
+	@Query("select distinct i from Invoice i left join fetch i.customer left join fetch i.items "
+			+ "where i.invoiceId in :invoiceIds order by i.invoiceId")
+	List<Invoice> findWithCustomerAndItemsByInvoiceIdIn(@Param("invoiceIds") Collection<Long> invoiceIds);
+
+	@EntityGraph(attributePaths = { "customer", "items" })
+	Optional<Invoice> findWithCustomerAndItemsByInvoiceId(Long invoiceId);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("select i from Invoice i order by i.invoiceId")
+	Stream<Invoice> streamAllOrderByInvoiceId();
+
+	// One row per line item joined to its product, in date order, so the cash-flow report reads a
+	// single forward-only cursor instead of loading invoices and their items
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select i.invoiceId as invoiceId, i.invoiceDate as invoiceDate, i.totalAmountCents as totalAmountCents, "
+			+ "p.category as category, p.priceCents as priceCents, it.quantity as quantity from Invoice i "
+			+ "left join i.items it left join Product p on p.productId = it.productId "
+			+ "where i.invoiceDate is not null and (:from is null or i.invoiceDate >= :from) "
+			+ "and (:to is null or i.invoiceDate < :to) order by i.invoiceDate, i.invoiceId")
+	Stream<CashFlowRow> streamCashFlowRows(@Param("from") Date from, @Param("to") Date to);
+
 }
@@ -0,0 +1,9 @@
+package accounting.files.dao;
+
+public interface InvoiceIdRange {
+
+	Long getMinId();
+
+	Long getMaxId();
+
+}
@@ -1,9 +1,39 @@
 package accounting.files.dao;
 
-import accounting.files.entity.InvoiceItem;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import accounting.files.entity.InvoiceItem;
+
 @Repository
 public interface InvoiceItemDao extends JpaRepository<InvoiceItem, Long> {
+
+	@Query("select coalesce(sum(it.quantity), 0) as quantity, "
+			+ "coalesce(sum(case when i.customer is not null then it.quantity else 0 end), 0) as customerQuantity "
+			+ "from InvoiceItem it join it.invoice i where it.productId = :productId")
+	ProductQuantities sumQuantitiesByProductId(@Param("productId") long productId);
+
+	List<InvoiceItem> findByInvoiceInvoiceIdOrderByItemId(Long invoiceId);
+
+	// Loads the item and its invoice header in one statement, scoped to the invoice it belongs to
+	@Query("select it from InvoiceItem it join fetch it.invoice i where it.itemId = :itemId and i.invoiceId = :invoiceId")
+	Optional<InvoiceItem> findByItemIdAndInvoiceId(@Param("itemId") Long itemId, @Param("invoiceId") Long invoiceId);
+
+	@Modifying
+	@Query("update InvoiceItem it set it.quantity = :quantity, it.version = it.version + 1 "
+			+ "where it.itemId = :itemId and it.invoice.invoiceId = :invoiceId and it.version = :version")
+	int updateQuantity(@Param("itemId") Long itemId, @Param("invoiceId") Long invoiceId,
+			@Param("quantity") int quantity, @Param("version") long version);
+
+	@Modifying
+	@Query("delete from InvoiceItem it "
+			+ "where it.itemId = :itemId and it.invoice.invoiceId = :invoiceId and it.version = :version")
+	int deleteByKey(@Param("itemId") Long itemId, @Param("invoiceId") Long invoiceId, @Param("version") long version);
+
 }
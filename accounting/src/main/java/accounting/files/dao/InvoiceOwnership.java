@@ -0,0 +1,17 @@
+package accounting.files.dao;
+
+import java.util.Date;
+
+public interface InvoiceOwnership {
+
+	Long getInvoiceId();
+
+	Long getCustomerId();
+
+	Date getInvoiceDate();
+
+	Long getTotalAmountCents();
+
+	Long getExpensesCents();
+
+}
@@ -0,0 +1,17 @@
+package accounting.files.dao;
+
+import java.util.Date;
+
+public interface InvoiceSummary {
+
+	Long getInvoiceId();
+
+	Long getCustomerId();
+
+	Date getInvoiceDate();
+
+	Long getTotalAmountCents();
+
+	Boolean getClosed();
+
+}
@@ -0,0 +1,12 @@
+package accounting.files.dao;
+
+import java.util.Date;
+
+// The invoice representation embeds its customer, so both rows' versions make up its ETag
+public interface InvoiceVersion extends EntityVersion {
+
+	Long getCustomerVersion();
+
+	Date getCustomerUpdatedAt();
+
+}
@@ -0,0 +1,54 @@
+package accounting.files.dao;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import accounting.files.entity.LedgerTotals;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface LedgerTotalsDao extends JpaRepository<LedgerTotals, Long> {
+
+	// Applied as an in-place increment so concurrent writers never overwrite each other's deltas
+	@Modifying(flushAutomatically = true)
+	@Query("update LedgerTotals l set l.totalRevenueCents = l.totalRevenueCents + :revenue, "
+			+ "l.totalExpensesCents = l.totalExpensesCents + :expenses, "
+			+ "l.totalAssetsCents = l.totalAssetsCents + :assets, "
+			+ "l.totalLiabilitiesCents = l.totalLiabilitiesCents + :liabilities where l.ledgerId = :ledgerId")
+	int applyDelta(@Param("ledgerId") Long ledgerId, @Param("revenue") long revenue,
+			@Param("expenses") long expenses, @Param("assets") long assets, @Param("liabilities") long liabilities);
+
+	// select ... for update over every stripe, in key order: deltas from concurrent writers wait until
+	// the lock holder commits
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select l from LedgerTotals l order by l.ledgerId")
+	List<LedgerTotals> findAllForUpdate();
+
+	// The rows are seeded by migration; this only restores one, empty, should it have been deleted
+	@Modifying
+	@Query(value = "insert into ledger_totals (ledger_id, total_revenue_cents, total_expenses_cents, "
+			+ "total_assets_cents, total_liabilities_cents) values (:ledgerId, 0, 0, 0, 0) "
+			+ "on duplicate key update ledger_id = ledger_id", nativeQuery = true)
+	int insertIfMissing(@Param("ledgerId") Long ledgerId);
+
+	@Modifying(flushAutomatically = true)
+	@Query("update LedgerTotals l set l.totalRevenueCents = :revenue, l.totalExpensesCents = :expenses, "
+			+ "l.totalAssetsCents = :assets, l.totalLiabilitiesCents = :liabilities, l.rebuiltAt = :rebuiltAt "
+			+ "where l.ledgerId = :ledgerId")
+	int replaceTotals(@Param("ledgerId") Long ledgerId, @Param("revenue") long revenue,
+			@Param("expenses") long expenses, @Param("assets") long assets, @Param("liabilities") long liabilities,
+			@Param("rebuiltAt") Date rebuiltAt);
+
+	@Modifying(flushAutomatically = true)
+	@Query("update LedgerTotals l set l.totalRevenueCents = 0, l.totalExpensesCents = 0, l.totalAssetsCents = 0, "
+			+ "l.totalLiabilitiesCents = 0 where l.ledgerId <> :ledgerId")
+	int clearOtherStripes(@Param("ledgerId") Long ledgerId);
+
+}
@@ -1,16 +1,40 @@
 package accounting.files.dao;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import accounting.files.controller.model.AccountingProduct;
 import accounting.files.entity.Product;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProductDao extends JpaRepository<Product, Long> {
 
-	Optional<AccountingProduct> findById(String productId);
+	// Ledger arithmetic prices line items from here, so it always reads the table and never a cache
+	@Query("select p.productId as productId, p.priceCents as priceCents from Product p where p.productId in :productIds")
+	List<ProductPrice> findPricesByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<Product> findByProductIdGreaterThanOrderByProductIdAsc(Long afterId, Pageable pageable);
+
+	@Query("select p.version as version, p.updatedAt as updatedAt from Product p where p.productId = :productId")
+	Optional<EntityVersion> findVersionByProductId(@Param("productId") Long productId);
+
+	@Query("select p.productId as productId, p.name as name, p.priceCents as priceCents from Product p "
+			+ "where p.productId > :afterId order by p.productId")
+	List<ProductSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("select p from Product p order by p.productId")
+	Stream<Product> streamAllOrderByProductId();
 
 }
@@ -0,0 +1,9 @@
+package accounting.files.dao;
+
+public interface ProductPrice {
+
+	Long getProductId();
+
+	Long getPriceCents();
+
+}
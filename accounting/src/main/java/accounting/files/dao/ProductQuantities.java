@@ -0,0 +1,9 @@
+package accounting.files.dao;
+
+public interface ProductQuantities {
+
+	Long getQuantity();
+
+	Long getCustomerQuantity();
+
+}
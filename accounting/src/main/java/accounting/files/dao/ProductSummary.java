@@ -0,0 +1,11 @@
+package accounting.files.dao;
+
+public interface ProductSummary {
+
+	Long getProductId();
+
+	String getName();
+
+	Long getPriceCents();
+
+}
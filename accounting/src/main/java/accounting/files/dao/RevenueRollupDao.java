@@ -0,0 +1,36 @@
+package accounting.files.dao;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import accounting.files.entity.RevenueRollup;
+import accounting.files.entity.RevenueRollupId;
+
+@Repository
+public interface RevenueRollupDao extends JpaRepository<RevenueRollup, RevenueRollupId> {
+
+	// Creates the bucket on first use and increments it in place afterwards, so concurrent writers
+	// to the same period never overwrite each other. The update adds the bound deltas again rather than
+	// reading values(), which MySQL deprecated in 8.0.20; the row-alias form is not understood by H2
+	@Modifying
+	@Query(value = "insert into revenue_rollup (period_type, period_start, customer_id, revenue_cents, invoice_count) "
+			+ "values (:periodType, :periodStart, :customerId, :revenue, :invoices) on duplicate key update "
+			+ "revenue_cents = revenue_cents + :revenue, "
+			+ "invoice_count = invoice_count + :invoices", nativeQuery = true)
+	int applyDelta(@Param("periodType") String periodType, @Param("periodStart") LocalDate periodStart,
+			@Param("customerId") Long customerId, @Param("revenue") long revenue, @Param("invoices") long invoices);
+
+	@Query("select r.id.periodStart as periodStart, r.revenueCents as revenueCents, r.invoiceCount as invoiceCount "
+			+ "from RevenueRollup r where r.id.periodType = :periodType and r.id.customerId = :customerId "
+			+ "and (:from is null or r.id.periodStart >= :from) and (:to is null or r.id.periodStart < :to) "
+			+ "order by r.id.periodStart")
+	List<RevenueRollupTotal> findRollups(@Param("periodType") String periodType,
+			@Param("customerId") Long customerId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+}
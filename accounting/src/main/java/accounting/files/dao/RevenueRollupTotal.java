@@ -0,0 +1,13 @@
+package accounting.files.dao;
+
+import java.time.LocalDate;
+
+public interface RevenueRollupTotal {
+
+	LocalDate getPeriodStart();
+
+	Long getRevenueCents();
+
+	Long getInvoiceCount();
+
+}
@@ -0,0 +1,57 @@
+package accounting.files.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "collection_versions")
+public class CollectionVersion {
+	public static final String INVOICES = "invoices";
+	public static final String CUSTOMERS = "customers";
+	public static final String PRODUCTS = "products";
+
+	// Counter rows per collection; a listing's version is the sum over its stripes
+	public static final int STRIPES = 16;
+
+	@EmbeddedId
+	private CollectionVersionId id;
+
+	@Column(nullable = false)
+	private long version;
+
+	@Column(nullable = false)
+	private Date updatedAt;
+
+	// Constructors, getters, and setters
+
+	public CollectionVersion() {
+	}
+
+	public CollectionVersionId getId() {
+		return id;
+	}
+
+	public void setId(CollectionVersionId id) {
+		this.id = id;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
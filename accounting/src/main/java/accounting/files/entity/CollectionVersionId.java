@@ -0,0 +1,59 @@
+package accounting.files.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class CollectionVersionId implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Column(length = 32)
+	private String collection;
+
+	private int stripe;
+
+	// Constructors, getters, and setters
+
+	public CollectionVersionId() {
+	}
+
+	public CollectionVersionId(String collection, int stripe) {
+		this.collection = collection;
+		this.stripe = stripe;
+	}
+
+	public String getCollection() {
+		return collection;
+	}
+
+	public void setCollection(String collection) {
+		this.collection = collection;
+	}
+
+	public int getStripe() {
+		return stripe;
+	}
+
+	public void setStripe(int stripe) {
+		this.stripe = stripe;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof CollectionVersionId other)) {
+			return false;
+		}
+		return Objects.equals(collection, other.collection) && stripe == other.stripe;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(collection, stripe);
+	}
+}
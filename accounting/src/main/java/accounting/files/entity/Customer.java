@@ -1,8 +1,15 @@
 package accounting.files.entity;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import accounting.files.config.SecondLevelCacheConfig;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -10,8 +17,11 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CUSTOMER_REGION)
 @Table(name = "customers")
 public class Customer {
 	@Id
@@ -27,6 +37,12 @@ public class Customer {
 	@Column(nullable = false, unique = true)
 	private String email;
 
+	@Version
+	private long version;
+
+	@UpdateTimestamp
+	private Date updatedAt;
+
 	@OneToMany(mappedBy = "customer")
 	private List<Invoice> relatedInvoices = new ArrayList<>();
 
@@ -73,6 +89,22 @@ public class Customer {
 		this.email = email;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
 	public List<Invoice> getRelatedInvoices() {
 		return relatedInvoices;
 	}
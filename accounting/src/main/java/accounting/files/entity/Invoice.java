@@ -4,32 +4,47 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
+// Updates name only the changed columns, so a partial update does not rewrite the whole row
 @Entity
+@DynamicUpdate
 @Table(name = "invoices")
 public class Invoice {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_seq")
+	@SequenceGenerator(name = "invoice_seq", sequenceName = "invoice_seq", allocationSize = 50)
 	private Long invoiceId;
 
-	@OneToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Customer customer;
 
 	private Date invoiceDate;
 
-	private double totalAmount;
+	// Minor units, see Money
+	private long totalAmountCents;
 
 	private boolean closed;
 
+	@Version
+	private long version;
+
+	@UpdateTimestamp
+	private Date updatedAt;
+
 	@OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	private List<InvoiceItem> items = new ArrayList<>();
 
@@ -62,12 +77,12 @@ public class Invoice {
 		this.invoiceDate = invoiceDate;
 	}
 
-	public double getTotalAmount() {
-		return totalAmount;
+	public long getTotalAmountCents() {
+		return totalAmountCents;
 	}
 
-	public void setTotalAmount(double totalAmount) {
-		this.totalAmount = totalAmount;
+	public void setTotalAmountCents(long totalAmountCents) {
+		this.totalAmountCents = totalAmountCents;
 	}
 
 	public boolean isClosed() {
@@ -78,6 +93,22 @@ public class Invoice {
 		this.closed = closed;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
 	public List<InvoiceItem> getItems() {
 		return items;
 	}
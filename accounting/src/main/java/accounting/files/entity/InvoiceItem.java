@@ -1,20 +1,27 @@
 package accounting.files.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 
 @Entity
 public class InvoiceItem {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_item_seq")
+	@SequenceGenerator(name = "invoice_item_seq", sequenceName = "invoice_item_seq", allocationSize = 50)
 	private Long itemId;
 	private long productId;
 	private int quantity;
 
-	@ManyToOne
+	@Version
+	private long version;
+
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Invoice invoice;
 
 	public Long getItemId() {
@@ -41,6 +48,14 @@ public class InvoiceItem {
 		this.quantity = quantity;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public Invoice getInvoice() {
 		return invoice;
 	}
@@ -0,0 +1,86 @@
+package accounting.files.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "ledger_totals")
+public class LedgerTotals {
+	// Stripe that holds the rebuilt totals; stripes 2 to STRIPES only accumulate deltas
+	public static final Long LEDGER_ID = 1L;
+	public static final int STRIPES = 16;
+
+	@Id
+	private Long ledgerId;
+
+	@Column(nullable = false)
+	private long totalRevenueCents;
+
+	@Column(nullable = false)
+	private long totalExpensesCents;
+
+	@Column(nullable = false)
+	private long totalAssetsCents;
+
+	@Column(nullable = false)
+	private long totalLiabilitiesCents;
+
+	private Date rebuiltAt;
+
+	// Constructors, getters, and setters
+
+	public LedgerTotals() {
+	}
+
+	public Long getLedgerId() {
+		return ledgerId;
+	}
+
+	public void setLedgerId(Long ledgerId) {
+		this.ledgerId = ledgerId;
+	}
+
+	public long getTotalRevenueCents() {
+		return totalRevenueCents;
+	}
+
+	public void setTotalRevenueCents(long totalRevenueCents) {
+		this.totalRevenueCents = totalRevenueCents;
+	}
+
+	public long getTotalExpensesCents() {
+		return totalExpensesCents;
+	}
+
+	public void setTotalExpensesCents(long totalExpensesCents) {
+		this.totalExpensesCents = totalExpensesCents;
+	}
+
+	public long getTotalAssetsCents() {
+		return totalAssetsCents;
+	}
+
+	public void setTotalAssetsCents(long totalAssetsCents) {
+		this.totalAssetsCents = totalAssetsCents;
+	}
+
+	public long getTotalLiabilitiesCents() {
+		return totalLiabilitiesCents;
+	}
+
+	public void setTotalLiabilitiesCents(long totalLiabilitiesCents) {
+		this.totalLiabilitiesCents = totalLiabilitiesCents;
+	}
+
+	public Date getRebuiltAt() {
+		return rebuiltAt;
+	}
+
+	public void setRebuiltAt(Date rebuiltAt) {
+		this.rebuiltAt = rebuiltAt;
+	}
+}
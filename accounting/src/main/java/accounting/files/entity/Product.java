@@ -1,14 +1,23 @@
 package accounting.files.entity;
 
-import java.math.BigDecimal;
+import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import accounting.files.config.SecondLevelCacheConfig;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCT_REGION)
 @Table(name = "products")
 public class Product {
 	@Id
@@ -20,7 +29,14 @@ public class Product {
 
 	private String category;
 
-	private BigDecimal price;
+	// Minor units, see Money
+	private Long priceCents;
+
+	@Version
+	private long version;
+
+	@UpdateTimestamp
+	private Date updatedAt;
 
 	// Constructors, getters, and setters
 
@@ -51,11 +67,27 @@ public class Product {
 		this.category = category;
 	}
 
-	public BigDecimal getPrice() {
-		return price;
+	public Long getPriceCents() {
+		return priceCents;
+	}
+
+	public void setPriceCents(Long priceCents) {
+		this.priceCents = priceCents;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
 	}
 
-	public void setPrice(BigDecimal price) {
-		this.price = price;
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
 	}
 }
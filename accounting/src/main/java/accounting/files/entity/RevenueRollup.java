@@ -0,0 +1,53 @@
+package accounting.files.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "revenue_rollup")
+public class RevenueRollup {
+	// Rows under this customer ID hold the total across every invoice in the period, including
+	// invoices without a customer, so an overall chart reads one row per period
+	public static final Long ALL_CUSTOMERS = 0L;
+
+	@EmbeddedId
+	private RevenueRollupId id;
+
+	// Minor units, see Money
+	@Column(nullable = false)
+	private long revenueCents;
+
+	@Column(nullable = false)
+	private long invoiceCount;
+
+	// Constructors, getters, and setters
+
+	public RevenueRollup() {
+	}
+
+	public RevenueRollupId getId() {
+		return id;
+	}
+
+	public void setId(RevenueRollupId id) {
+		this.id = id;
+	}
+
+	public long getRevenueCents() {
+		return revenueCents;
+	}
+
+	public void setRevenueCents(long revenueCents) {
+		this.revenueCents = revenueCents;
+	}
+
+	public long getInvoiceCount() {
+		return invoiceCount;
+	}
+
+	public void setInvoiceCount(long invoiceCount) {
+		this.invoiceCount = invoiceCount;
+	}
+}
@@ -0,0 +1,72 @@
+package accounting.files.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class RevenueRollupId implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Column(length = 8)
+	private String periodType;
+
+	private LocalDate periodStart;
+
+	private Long customerId;
+
+	// Constructors, getters, and setters
+
+	public RevenueRollupId() {
+	}
+
+	public RevenueRollupId(String periodType, LocalDate periodStart, Long customerId) {
+		this.periodType = periodType;
+		this.periodStart = periodStart;
+		this.customerId = customerId;
+	}
+
+	public String getPeriodType() {
+		return periodType;
+	}
+
+	public void setPeriodType(String periodType) {
+		this.periodType = periodType;
+	}
+
+	public LocalDate getPeriodStart() {
+		return periodStart;
+	}
+
+	public void setPeriodStart(LocalDate periodStart) {
+		this.periodStart = periodStart;
+	}
+
+	public Long getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(Long customerId) {
+		this.customerId = customerId;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof RevenueRollupId other)) {
+			return false;
+		}
+		return Objects.equals(periodType, other.periodType) && Objects.equals(periodStart, other.periodStart)
+				&& Objects.equals(customerId, other.customerId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(periodType, periodStart, customerId);
+	}
+}
@@ -0,0 +1,34 @@
+package accounting.files.metrics;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+// Counts the JDBC statements Hibernate prepares on the current thread. Callers read the count
+// before and after a unit of work, so nested measurements (request, service call) never reset
+// each other.
+@Component
+public class JdbcStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+	@Override
+	public void customize(Map<String, Object> hibernateProperties) {
+		hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+	}
+
+	@Override
+	public String inspect(String sql) {
+		STATEMENTS.get()[0]++;
+		return sql;
+	}
+
+	public long current() {
+		return STATEMENTS.get()[0];
+	}
+}
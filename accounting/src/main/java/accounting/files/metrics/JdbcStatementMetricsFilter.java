@@ -0,0 +1,45 @@
+package accounting.files.metrics;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Statements issued while handling a request, tagged like http.server.requests so an N+1
+// regression shows up against the endpoint that caused it. Work handed to another thread, such as
+// a streaming response body, is counted by that thread's service call instead.
+@Component
+public class JdbcStatementMetricsFilter extends OncePerRequestFilter {
+
+	private final MeterRegistry meterRegistry;
+	private final JdbcStatementCounter statementCounter;
+
+	@Autowired
+	public JdbcStatementMetricsFilter(MeterRegistry meterRegistry, JdbcStatementCounter statementCounter) {
+		this.meterRegistry = meterRegistry;
+		this.statementCounter = statementCounter;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long statementsBefore = statementCounter.current();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			DistributionSummary.builder("accounting.http.jdbc.statements").tag("method", request.getMethod())
+					.tag("uri", pattern != null ? pattern.toString() : "UNKNOWN").register(meterRegistry)
+					.record(statementCounter.current() - statementsBefore);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package accounting.files.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Times every public AccountingFilesService call and records how many statements it issued.
+// Ordered outside the transaction advice so the commit and its flush are included.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+	private final MeterRegistry meterRegistry;
+	private final JdbcStatementCounter statementCounter;
+
+	@Autowired
+	public ServiceMetricsAspect(MeterRegistry meterRegistry, JdbcStatementCounter statementCounter) {
+		this.meterRegistry = meterRegistry;
+		this.statementCounter = statementCounter;
+	}
+
+	@Around("execution(public * accounting.files.service.AccountingFilesService.*(..))")
+	public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+		String method = joinPoint.getSignature().getName();
+		long statementsBefore = statementCounter.current();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			sample.stop(Timer.builder("accounting.service").tag("method", method).tag("exception", exception)
+					.register(meterRegistry));
+			DistributionSummary.builder("accounting.service.jdbc.statements").tag("method", method)
+					.register(meterRegistry).record(statementCounter.current() - statementsBefore);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package accounting.files.service;
+
+import java.util.Date;
+
+// Published by every write that can change a report; listeners act on it once the write commits
+public class AccountingDataChangedEvent {
+	private final Date changedAt = new Date();
+
+	public Date getChangedAt() {
+		return changedAt;
+	}
+}
@@ -1,37 +1,135 @@
 package accounting.files.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import accounting.files.controller.model.AccountingBalanceSheet;
+import accounting.files.controller.model.AccountingCashFlowPeriod;
+import accounting.files.controller.model.AccountingCashFlowStatement;
 import accounting.files.controller.model.AccountingCustomer;
+import accounting.files.controller.model.AccountingCustomerAssets;
+import accounting.files.controller.model.AccountingCustomerInvoiceRecord;
+import accounting.files.controller.model.AccountingCustomerInvoiceResult;
+import accounting.files.controller.model.AccountingCustomerSummary;
+import accounting.files.controller.model.AccountingData;
+import accounting.files.controller.model.AccountingImportRecord;
+import accounting.files.controller.model.AccountingImportResult;
+import accounting.files.controller.model.AccountingIncomeStatement;
 import accounting.files.controller.model.AccountingInvoice;
 import accounting.files.controller.model.AccountingInvoiceItem;
+import accounting.files.controller.model.AccountingInvoicePatch;
+import accounting.files.controller.model.AccountingInvoiceSummary;
+import accounting.files.controller.model.AccountingLedgerTotals;
+import accounting.files.controller.model.AccountingLedgerVerification;
 import accounting.files.controller.model.AccountingProduct;
+import accounting.files.controller.model.AccountingProductSummary;
+import accounting.files.controller.model.AccountingResourceVersion;
+import accounting.files.controller.model.AccountingRevenuePeriod;
+import accounting.files.controller.model.AccountingRevenueReport;
+import accounting.files.dao.CashFlowRow;
+import accounting.files.dao.CustomerAssets;
 import accounting.files.dao.CustomerDao;
+import accounting.files.dao.CustomerSummary;
+import accounting.files.dao.EntityVersion;
 import accounting.files.dao.InvoiceDao;
+import accounting.files.dao.InvoiceIdRange;
+import accounting.files.dao.InvoiceOwnership;
+import accounting.files.dao.InvoiceItemDao;
+import accounting.files.dao.InvoiceSummary;
 import accounting.files.dao.ProductDao;
+import accounting.files.dao.ProductPrice;
+import accounting.files.dao.ProductQuantities;
+import accounting.files.dao.ProductSummary;
+import accounting.files.dao.RevenueRollupTotal;
+import accounting.files.entity.CollectionVersion;
 import accounting.files.entity.Customer;
 import accounting.files.entity.Invoice;
 import accounting.files.entity.InvoiceItem;
 import accounting.files.entity.Product;
+import accounting.files.entity.RevenueRollup;
+import jakarta.persistence.EntityManager;
 
 @Service
 public class AccountingFilesService {
 
+	private static final int PRICE_LOOKUP_CHUNK_SIZE = 500;
+	private static final int MAX_PAGE_SIZE = 1000;
+	private static final int STREAM_FLUSH_ROWS = 500;
+	private static final int INVOICE_WINDOW_SIZE = 500;
+	private static final int IMPORT_CHUNK_SIZE = 500;
+	private static final int RELATIONSHIP_CHUNK_SIZE = 1000;
+
 	private final InvoiceDao invoiceDao;
 	private final CustomerDao customerDao;
 	private final ProductDao productDao;
+	private final InvoiceItemDao invoiceItemDao;
+	private final LedgerService ledgerService;
+	private final RevenueRollupService revenueRollupService;
+	private final CollectionVersionService collectionVersionService;
+	private final CashFlowClassifier cashFlowClassifier;
+	private final ReportPartitioner reportPartitioner;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate ledgerRebuildTemplate;
 
 	@Autowired
-	public AccountingFilesService(InvoiceDao invoiceDao, CustomerDao customerDao, ProductDao productDao) {
+	public AccountingFilesService(InvoiceDao invoiceDao, CustomerDao customerDao, ProductDao productDao,
+			InvoiceItemDao invoiceItemDao, LedgerService ledgerService, RevenueRollupService revenueRollupService,
+			CollectionVersionService collectionVersionService, CashFlowClassifier cashFlowClassifier,
+			ReportPartitioner reportPartitioner, EntityManager entityManager, ObjectMapper objectMapper,
+			ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
 		this.invoiceDao = invoiceDao;
 		this.customerDao = customerDao;
 		this.productDao = productDao;
+		this.invoiceItemDao = invoiceItemDao;
+		this.ledgerService = ledgerService;
+		this.revenueRollupService = revenueRollupService;
+		this.collectionVersionService = collectionVersionService;
+		this.cashFlowClassifier = cashFlowClassifier;
+		this.reportPartitioner = reportPartitioner;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.ledgerRebuildTemplate = new TransactionTemplate(transactionManager);
+		this.ledgerRebuildTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
 	}
 
 	// Customer methods
@@ -45,14 +143,33 @@ public class AccountingFilesService {
 		return accountingCustomers;
 	}
 
+	public List<AccountingCustomer> getCustomersPage(Long afterId, int limit) {
+		List<Customer> customers = customerDao.findByCustomerIdGreaterThanOrderByCustomerIdAsc(afterId,
+				pageOf(limit));
+		List<AccountingCustomer> accountingCustomers = new ArrayList<>();
+		for (Customer customer : customers) {
+			accountingCustomers.add(convertToAccountingCustomer(customer));
+		}
+		return accountingCustomers;
+	}
+
+	@Transactional(readOnly = true)
+	public void streamCustomers(OutputStream outputStream) throws IOException {
+		try (Stream<Customer> customers = customerDao.streamAllOrderByCustomerId()) {
+			writeNdjson(customers, this::convertToAccountingCustomer, outputStream);
+		}
+	}
+
 	public AccountingCustomer getCustomerById(Long customerId) {
 		Optional<Customer> customerOptional = customerDao.findById(customerId);
 		return customerOptional.map(this::convertToAccountingCustomer).orElse(null);
 	}
 
+	@Transactional
 	public AccountingCustomer createCustomer(AccountingCustomer accountingCustomer) {
 		Customer customer = convertToEntity(accountingCustomer);
 		customer = customerDao.save(customer);
+		collectionVersionService.bump(CollectionVersion.CUSTOMERS);
 		return convertToAccountingCustomer(customer);
 	}
 
@@ -65,22 +182,28 @@ public class AccountingFilesService {
 		return customer;
 	}
 
+	// Invoice listings embed each invoice's customer, so a customer change is an invoice listing change too
+	@Transactional
 	public AccountingCustomer updateCustomer(Long customerId, AccountingCustomer accountingCustomer) {
 		Optional<Customer> existingCustomerOptional = customerDao.findById(customerId);
 		if (existingCustomerOptional.isPresent()) {
 			Customer existingCustomer = existingCustomerOptional.get();
 			Customer updatedCustomer = convertToEntity(accountingCustomer);
 			updatedCustomer.setCustomerId(existingCustomer.getCustomerId());
+			updatedCustomer.setVersion(existingCustomer.getVersion());
 			updatedCustomer = customerDao.save(updatedCustomer);
+			collectionVersionService.bump(CollectionVersion.CUSTOMERS, CollectionVersion.INVOICES);
 			return convertToAccountingCustomer(updatedCustomer);
 		}
 		return null;
 	}
 
+	@Transactional
 	public boolean deleteCustomer(Long customerId) {
 		Optional<Customer> customerOptional = customerDao.findById(customerId);
 		if (customerOptional.isPresent()) {
 			customerDao.deleteById(customerId);
+			collectionVersionService.bump(CollectionVersion.CUSTOMERS);
 			return true;
 		}
 		return false;
@@ -88,8 +211,22 @@ public class AccountingFilesService {
 
 	// Invoice methods
 
+	@Transactional(readOnly = true)
 	public List<AccountingInvoice> getAllInvoices() {
-		List<Invoice> invoices = invoiceDao.findAll();
+		List<AccountingInvoice> accountingInvoices = new ArrayList<>();
+		forEachInvoiceWindow(invoices -> {
+			for (Invoice invoice : invoices) {
+				accountingInvoices.add(convertToAccountingInvoice(invoice));
+			}
+		});
+		return accountingInvoices;
+	}
+
+	@Transactional(readOnly = true)
+	public List<AccountingInvoice> getInvoicesPage(Long afterId, int limit) {
+		List<Long> invoiceIds = invoiceDao.findInvoiceIdsAfter(afterId, pageOf(limit));
+		List<Invoice> invoices = invoiceIds.isEmpty() ? List.of()
+				: invoiceDao.findWithCustomerAndItemsByInvoiceIdIn(invoiceIds);
 		List<AccountingInvoice> accountingInvoices = new ArrayList<>();
 		for (Invoice invoice : invoices) {
 			accountingInvoices.add(convertToAccountingInvoice(invoice));
@@ -97,131 +234,380 @@ public class AccountingFilesService {
 		return accountingInvoices;
 	}
 
+	@Transactional(readOnly = true)
+	public void streamInvoices(OutputStream outputStream) throws IOException {
+		try (Stream<Invoice> invoices = invoiceDao.streamAllOrderByInvoiceId()) {
+			writeNdjson(invoices, this::convertToAccountingInvoice, outputStream);
+		}
+	}
+
 	public AccountingInvoice getInvoiceById(String invoiceId) {
-		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
+		Optional<Invoice> invoiceOptional = invoiceDao.findWithCustomerAndItemsByInvoiceId(Long.parseLong(invoiceId));
 		return invoiceOptional.map(this::convertToAccountingInvoice).orElse(null);
 	}
 
+	@Transactional
 	public AccountingInvoice createInvoice(AccountingInvoice accountingInvoice) {
 		Invoice invoice = convertToEntity(accountingInvoice);
 		invoice = invoiceDao.save(invoice);
+		recordInvoiceChange(new FinancialTotals(), contributionOf(List.of(invoice)));
+		recordRevenueChange(new RevenueRollupDelta(), RevenueRollupDelta.ofInvoices(List.of(invoice)));
 		return convertToAccountingInvoice(invoice);
 	}
 
+	// Invoice writes check the invoice version when they flush. A write that loses to a concurrent one
+	// is retried on fresh state unless the client pinned a version; see ConflictRetryAspect.
+	@RetryOnConflict
+	@Transactional
 	public AccountingInvoice updateInvoice(String invoiceId, AccountingInvoice accountingInvoice) {
 		Optional<Invoice> existingInvoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
 		if (existingInvoiceOptional.isPresent()) {
 			Invoice existingInvoice = existingInvoiceOptional.get();
+			checkVersion(existingInvoice, accountingInvoice.getVersion());
+			FinancialTotals before = contributionOf(List.of(existingInvoice));
+			RevenueRollupDelta revenueBefore = RevenueRollupDelta.ofInvoices(List.of(existingInvoice));
 			Invoice updatedInvoice = convertToEntity(accountingInvoice);
 			updatedInvoice.setInvoiceId(existingInvoice.getInvoiceId());
-			updatedInvoice = invoiceDao.save(updatedInvoice);
+			updatedInvoice.setVersion(existingInvoice.getVersion());
+			// Flushed here so the response carries the new version
+			updatedInvoice = invoiceDao.saveAndFlush(updatedInvoice);
+			// The line items are not part of the update, so the invoice keeps its expenses
+			recordInvoiceChange(before, FinancialTotals.ofInvoice(updatedInvoice, before.getTotalExpenses()));
+			recordRevenueChange(revenueBefore, RevenueRollupDelta.ofInvoices(List.of(updatedInvoice)));
 			return convertToAccountingInvoice(updatedInvoice);
 		}
 		return null;
 	}
 
+	// Only the fields present in the patch change, and with @DynamicUpdate only their columns are written
+	@RetryOnConflict
+	@Transactional
+	public AccountingInvoice patchInvoice(String invoiceId, AccountingInvoicePatch patch) {
+		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
+		if (invoiceOptional.isEmpty()) {
+			return null;
+		}
+		Invoice invoice = invoiceOptional.get();
+		checkVersion(invoice, patch.getVersion());
+		FinancialTotals before = contributionOf(List.of(invoice));
+		RevenueRollupDelta revenueBefore = RevenueRollupDelta.ofInvoices(List.of(invoice));
+		if (patch.getInvoiceDate() != null) {
+			invoice.setInvoiceDate(patch.getInvoiceDate());
+		}
+		if (patch.getTotalAmount() != null) {
+			invoice.setTotalAmountCents(Money.toMinorUnits(patch.getTotalAmount()));
+		}
+		if (patch.getClosed() != null) {
+			invoice.setClosed(patch.getClosed());
+		}
+		if (patch.getCustomerId() != null) {
+			invoice.setCustomer(customerDao.findById(patch.getCustomerId())
+					.orElseThrow(() -> new IllegalArgumentException("Unknown customer " + patch.getCustomerId())));
+		}
+		invoiceDao.saveAndFlush(invoice);
+		recordInvoiceChange(before, FinancialTotals.ofInvoice(invoice, before.getTotalExpenses()));
+		recordRevenueChange(revenueBefore, RevenueRollupDelta.ofInvoices(List.of(invoice)));
+		return convertToAccountingInvoice(invoice);
+	}
+
+	private static void checkVersion(Invoice invoice, Long expectedVersion) {
+		if (expectedVersion != null && expectedVersion.longValue() != invoice.getVersion()) {
+			throw new StaleVersionException("Invoice", invoice.getInvoiceId(), invoice.getVersion(), expectedVersion);
+		}
+	}
+
+	@Transactional
 	public boolean deleteInvoice(String invoiceId) {
 		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
 		if (invoiceOptional.isPresent()) {
+			FinancialTotals before = contributionOf(List.of(invoiceOptional.get()));
+			RevenueRollupDelta revenueBefore = RevenueRollupDelta.ofInvoices(List.of(invoiceOptional.get()));
 			invoiceDao.deleteById(Long.parseLong(invoiceId));
+			recordInvoiceChange(before, new FinancialTotals());
+			recordRevenueChange(revenueBefore, new RevenueRollupDelta());
 			return true;
 		}
 		return false;
 	}
 
+	@Transactional(readOnly = true)
 	public List<AccountingInvoiceItem> getInvoiceItems(String invoiceId) {
-		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
-		if (invoiceOptional.isPresent()) {
-			Invoice invoice = invoiceOptional.get();
-			List<AccountingInvoiceItem> accountingItems = new ArrayList<>();
-			for (InvoiceItem item : invoice.getItems()) {
-				accountingItems.add(convertToAccountingInvoiceItem(item));
-			}
-			return accountingItems;
+		Long id = Long.parseLong(invoiceId);
+		List<InvoiceItem> items = invoiceItemDao.findByInvoiceInvoiceIdOrderByItemId(id);
+		if (items.isEmpty() && !invoiceDao.existsById(id)) {
+			return null;
 		}
-		return null;
+		List<AccountingInvoiceItem> accountingItems = new ArrayList<>();
+		for (InvoiceItem item : items) {
+			accountingItems.add(convertToAccountingInvoiceItem(item));
+		}
+		return accountingItems;
 	}
 
+	// Line item writes go straight to the item row instead of loading and re-saving the invoice
+
+	@RetryOnConflict
+	@Transactional
 	public boolean addInvoiceItem(String invoiceId, AccountingInvoiceItem accountingItem) {
+		checkQuantity(accountingItem.getQuantity());
 		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
 		if (invoiceOptional.isPresent()) {
-			Invoice invoice = invoiceOptional.get();
 			InvoiceItem item = convertToEntity(accountingItem);
-			item.setInvoice(invoice);
-			invoice.getItems().add(item);
-			invoiceDao.save(invoice);
+			item.setItemId(null);
+			item.setInvoice(invoiceOptional.get());
+			invoiceItemDao.save(item);
+			recordInvoiceItemChange(item, item.getQuantity());
 			return true;
 		}
 		return false;
 	}
 
+	@RetryOnConflict
+	@Transactional
 	public boolean updateInvoiceItem(String invoiceId, String itemId, int quantity) {
-		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
-		if (invoiceOptional.isPresent()) {
-			Invoice invoice = invoiceOptional.get();
-			List<InvoiceItem> items = invoice.getItems();
-			for (InvoiceItem item : items) {
-				if (item.getItemId().equals(Long.parseLong(itemId))) {
-					item.setQuantity(quantity);
-					invoiceDao.save(invoice);
-					return true;
-				}
+		checkQuantity(quantity);
+		Optional<InvoiceItem> itemOptional = findInvoiceItem(invoiceId, itemId);
+		if (itemOptional.isPresent()) {
+			InvoiceItem item = itemOptional.get();
+			int updated = invoiceItemDao.updateQuantity(item.getItemId(), item.getInvoice().getInvoiceId(), quantity,
+					item.getVersion());
+			if (updated == 0) {
+				throw new ObjectOptimisticLockingFailureException(InvoiceItem.class, item.getItemId());
 			}
+			recordInvoiceItemChange(item, quantity - item.getQuantity());
+			return true;
 		}
 		return false;
 	}
 
+	@RetryOnConflict
+	@Transactional
 	public boolean deleteInvoiceItem(String invoiceId, String itemId) {
-		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
-		if (invoiceOptional.isPresent()) {
-			Invoice invoice = invoiceOptional.get();
-			List<InvoiceItem> items = invoice.getItems();
-			items.removeIf(item -> item.getItemId().equals(Long.parseLong(itemId)));
-			invoiceDao.save(invoice);
+		Optional<InvoiceItem> itemOptional = findInvoiceItem(invoiceId, itemId);
+		if (itemOptional.isPresent()) {
+			InvoiceItem item = itemOptional.get();
+			int deleted = invoiceItemDao.deleteByKey(item.getItemId(), item.getInvoice().getInvoiceId(),
+					item.getVersion());
+			if (deleted == 0) {
+				throw new ObjectOptimisticLockingFailureException(InvoiceItem.class, item.getItemId());
+			}
+			recordInvoiceItemChange(item, -item.getQuantity());
 			return true;
 		}
 		return false;
 	}
 
+	@RetryOnConflict
+	@Transactional
 	public boolean closeInvoice(String invoiceId) {
 		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
 		if (invoiceOptional.isPresent()) {
 			Invoice invoice = invoiceOptional.get();
 			if (!invoice.isClosed()) {
+				FinancialTotals before = contributionOf(List.of(invoice));
+				RevenueRollupDelta revenueBefore = RevenueRollupDelta.ofInvoices(List.of(invoice));
 				invoice.setClosed(true);
 				invoiceDao.save(invoice);
+				recordInvoiceChange(before, FinancialTotals.ofInvoice(invoice, before.getTotalExpenses()));
+				recordRevenueChange(revenueBefore, RevenueRollupDelta.ofInvoices(List.of(invoice)));
 				return true;
 			}
 		}
 		return false;
 	}
 
+	@Transactional(readOnly = true)
 	public AccountingInvoiceItem getInvoiceItem(String invoiceId, String itemId) {
-		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
-		if (invoiceOptional.isPresent()) {
-			Invoice invoice = invoiceOptional.get();
-			for (InvoiceItem item : invoice.getItems()) {
-				if (item.getItemId().equals(Long.parseLong(itemId))) {
-					return convertToAccountingInvoiceItem(item);
+		return findInvoiceItem(invoiceId, itemId).map(this::convertToAccountingInvoiceItem).orElse(null);
+	}
+
+	@RetryOnConflict
+	@Transactional
+	public boolean updateInvoiceItemQuantity(String invoiceId, String itemId, int quantity) {
+		return updateInvoiceItem(invoiceId, itemId, quantity);
+	}
+
+	// Same rule as the bulk import; a zero or negative line would book negative expenses in the ledger
+	private static void checkQuantity(int quantity) {
+		if (quantity <= 0) {
+			throw new IllegalArgumentException("Quantity must be positive, was " + quantity);
+		}
+	}
+
+	private Optional<InvoiceItem> findInvoiceItem(String invoiceId, String itemId) {
+		return invoiceItemDao.findByItemIdAndInvoiceId(Long.parseLong(itemId), Long.parseLong(invoiceId));
+	}
+
+	// Bulk import
+
+	public AccountingImportResult importInvoices(Iterator<AccountingData> records) {
+		long startedAt = System.nanoTime();
+		AccountingImportResult result = new AccountingImportResult();
+		List<AccountingData> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+		int firstIndex = 0;
+		while (records.hasNext()) {
+			chunk.add(records.next());
+			if (chunk.size() == IMPORT_CHUNK_SIZE) {
+				importChunk(chunk, firstIndex, result);
+				firstIndex += chunk.size();
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			importChunk(chunk, firstIndex, result);
+		}
+		result.setElapsedMillis((System.nanoTime() - startedAt) / 1_000_000);
+		return result;
+	}
+
+	public AccountingImportResult importInvoices(InputStream inputStream) throws IOException {
+		try (MappingIterator<AccountingData> records = objectMapper.readerFor(AccountingData.class)
+				.readValues(inputStream)) {
+			return importInvoices(records);
+		}
+	}
+
+	private void importChunk(List<AccountingData> chunk, int firstIndex, AccountingImportResult result) {
+		Set<Long> customerIds = new HashSet<>();
+		Set<Long> productIds = new HashSet<>();
+		for (AccountingData record : chunk) {
+			collectImportReferences(record, customerIds, productIds);
+		}
+		Set<Long> existingCustomerIds = customerIds.isEmpty() ? Set.of()
+				: new HashSet<>(customerDao.findExistingCustomerIds(customerIds));
+		Map<Long, Long> productPrices = resolveProductPricesById(productIds);
+
+		Map<Integer, Invoice> accepted = new LinkedHashMap<>();
+		Map<Integer, String> rejected = new HashMap<>();
+		for (int offset = 0; offset < chunk.size(); offset++) {
+			try {
+				accepted.put(offset, convertToImportedInvoice(chunk.get(offset), existingCustomerIds, productPrices));
+			} catch (IllegalArgumentException e) {
+				rejected.put(offset, e.getMessage());
+			}
+		}
+
+		try {
+			long rows = transactionTemplate
+					.execute(status -> persistImportedInvoices(accepted.values(), productPrices));
+			result.setRowsWritten(result.getRowsWritten() + rows);
+		} catch (RuntimeException e) {
+			// Fall back to one transaction per record so a single bad row only fails itself
+			for (Map.Entry<Integer, Invoice> entry : accepted.entrySet()) {
+				Invoice invoice = entry.getValue();
+				invoice.setInvoiceId(null);
+				invoice.getItems().forEach(item -> item.setItemId(null));
+				try {
+					long rows = transactionTemplate
+							.execute(status -> persistImportedInvoices(List.of(invoice), productPrices));
+					result.setRowsWritten(result.getRowsWritten() + rows);
+				} catch (RuntimeException recordFailure) {
+					entry.setValue(null);
+					rejected.put(entry.getKey(), recordFailure.getMessage());
 				}
 			}
 		}
-		return null;
+
+		for (int offset = 0; offset < chunk.size(); offset++) {
+			Invoice invoice = accepted.get(offset);
+			if (invoice != null) {
+				result.addRecord(new AccountingImportRecord(firstIndex + offset,
+						String.valueOf(invoice.getInvoiceId()), AccountingImportRecord.IMPORTED, null));
+			} else {
+				result.addRecord(new AccountingImportRecord(firstIndex + offset, null, AccountingImportRecord.FAILED,
+						rejected.get(offset)));
+			}
+		}
 	}
 
-	public boolean updateInvoiceItemQuantity(String invoiceId, String itemId, int quantity) {
-		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
-		if (invoiceOptional.isPresent()) {
-			Invoice invoice = invoiceOptional.get();
-			for (InvoiceItem item : invoice.getItems()) {
-				if (item.getItemId().equals(Long.parseLong(itemId))) {
-					item.setQuantity(quantity);
-					invoiceDao.save(invoice);
-					return true;
+	private void collectImportReferences(AccountingData record, Set<Long> customerIds, Set<Long> productIds) {
+		if (record == null || record.getInvoice() == null) {
+			return;
+		}
+		Customer customer = record.getInvoice().getCustomer();
+		if (customer != null && customer.getCustomerId() != null) {
+			customerIds.add(customer.getCustomerId());
+		}
+		if (record.getItems() != null) {
+			for (AccountingInvoiceItem item : record.getItems()) {
+				if (item != null && item.getProductId() != null) {
+					try {
+						productIds.add(Long.parseLong(item.getProductId()));
+					} catch (NumberFormatException e) {
+						// Reported against the record during conversion
+					}
 				}
 			}
 		}
-		return false;
+	}
+
+	private Invoice convertToImportedInvoice(AccountingData record, Set<Long> existingCustomerIds,
+			Map<Long, Long> productPrices) {
+		if (record == null || record.getInvoice() == null) {
+			throw new IllegalArgumentException("Record has no invoice");
+		}
+		AccountingInvoice accountingInvoice = record.getInvoice();
+		Invoice invoice = new Invoice();
+		Customer customer = accountingInvoice.getCustomer();
+		if (customer != null && customer.getCustomerId() != null) {
+			if (!existingCustomerIds.contains(customer.getCustomerId())) {
+				throw new IllegalArgumentException("Unknown customer " + customer.getCustomerId());
+			}
+			invoice.setCustomer(customerDao.getReferenceById(customer.getCustomerId()));
+		}
+		invoice.setInvoiceDate(accountingInvoice.getInvoiceDate());
+		invoice.setTotalAmountCents(Money.toMinorUnits(accountingInvoice.getTotalAmount()));
+		invoice.setClosed(accountingInvoice.isClosed());
+
+		if (record.getItems() != null) {
+			for (AccountingInvoiceItem accountingItem : record.getItems()) {
+				InvoiceItem item = convertToImportedItem(accountingItem, productPrices);
+				item.setInvoice(invoice);
+				invoice.getItems().add(item);
+			}
+		}
+		return invoice;
+	}
+
+	private InvoiceItem convertToImportedItem(AccountingInvoiceItem accountingItem,
+			Map<Long, Long> productPrices) {
+		if (accountingItem == null || accountingItem.getProductId() == null) {
+			throw new IllegalArgumentException("Line item has no product");
+		}
+		long productId;
+		try {
+			productId = Long.parseLong(accountingItem.getProductId());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid product ID " + accountingItem.getProductId());
+		}
+		if (!productPrices.containsKey(productId)) {
+			throw new IllegalArgumentException("Unknown or unpriced product " + productId);
+		}
+		if (accountingItem.getQuantity() <= 0) {
+			throw new IllegalArgumentException("Quantity must be positive for product " + productId);
+		}
+		InvoiceItem item = new InvoiceItem();
+		item.setProductId(productId);
+		item.setQuantity(accountingItem.getQuantity());
+		return item;
+	}
+
+	// Persists the invoices with JDBC batching and folds them into the ledger in the same transaction
+	private long persistImportedInvoices(Collection<Invoice> invoices, Map<Long, Long> productPrices) {
+		FinancialTotals delta = new FinancialTotals();
+		long rows = 0;
+		for (Invoice invoice : invoices) {
+			delta.addInvoice(invoice, calculateInvoiceExpenses(invoice, productPrices));
+			rows += 1 + invoice.getItems().size();
+		}
+		invoiceDao.saveAll(invoices);
+		invoiceDao.flush();
+		ledgerService.applyDelta(delta);
+		collectionVersionService.bump(CollectionVersion.INVOICES);
+		revenueRollupService.applyDelta(RevenueRollupDelta.ofInvoices(invoices));
+		eventPublisher.publishEvent(new AccountingDataChangedEvent());
+		entityManager.clear();
+		return rows;
 	}
 
 	// Product methods
@@ -235,33 +621,58 @@ public class AccountingFilesService {
 		return accountingProducts;
 	}
 
+	public List<AccountingProduct> getProductsPage(Long afterId, int limit) {
+		List<Product> products = productDao.findByProductIdGreaterThanOrderByProductIdAsc(afterId, pageOf(limit));
+		List<AccountingProduct> accountingProducts = new ArrayList<>();
+		for (Product product : products) {
+			accountingProducts.add(convertToAccountingProduct(product));
+		}
+		return accountingProducts;
+	}
+
+	@Transactional(readOnly = true)
+	public void streamProducts(OutputStream outputStream) throws IOException {
+		try (Stream<Product> products = productDao.streamAllOrderByProductId()) {
+			writeNdjson(products, this::convertToAccountingProduct, outputStream);
+		}
+	}
+
 	public AccountingProduct getProductById(Long productId) {
 		Optional<Product> productOptional = productDao.findById(productId);
 		return productOptional.map(this::convertToAccountingProduct).orElse(null);
 	}
 
+	@Transactional
 	public AccountingProduct createProduct(AccountingProduct accountingProduct) {
 		Product product = convertToEntity(accountingProduct);
 		product = productDao.save(product);
+		collectionVersionService.bump(CollectionVersion.PRODUCTS);
 		return convertToAccountingProduct(product);
 	}
 
+	@Transactional
 	public AccountingProduct updateProduct(Long productId, AccountingProduct accountingProduct) {
 		Optional<Product> existingProductOptional = productDao.findById(productId);
 		if (existingProductOptional.isPresent()) {
 			Product existingProduct = existingProductOptional.get();
+			Long previousPrice = existingProduct.getPriceCents();
 			Product updatedProduct = convertToEntity(accountingProduct);
 			updatedProduct.setProductId(existingProduct.getProductId());
+			updatedProduct.setVersion(existingProduct.getVersion());
 			updatedProduct = productDao.save(updatedProduct);
+			recordProductPriceChange(productId, previousPrice, updatedProduct.getPriceCents());
 			return convertToAccountingProduct(updatedProduct);
 		}
 		return null;
 	}
 
+	@Transactional
 	public boolean deleteProduct(Long productId) {
 		Optional<Product> productOptional = productDao.findById(productId);
 		if (productOptional.isPresent()) {
+			Long previousPrice = productOptional.get().getPriceCents();
 			productDao.deleteById(productId);
+			recordProductPriceChange(productId, previousPrice, null);
 			return true;
 		}
 		return false;
@@ -269,141 +680,369 @@ public class AccountingFilesService {
 
 	// Financial Reports
 
-	public double calculateTotalRevenue() {
-		double totalRevenue = 0.0;
-		List<AccountingInvoice> allInvoices = getAllInvoices();
-		for (AccountingInvoice invoice : allInvoices) {
-			totalRevenue += invoice.getTotalAmount();
+	// With parallel reports enabled the scan is split by invoice ID across the report partitioner
+	@Transactional(readOnly = true)
+	public FinancialTotals calculateFinancialTotals() {
+		if (!reportPartitioner.isParallel()) {
+			return calculateFinancialTotals(0L, Long.MAX_VALUE);
 		}
-		return totalRevenue;
+		InvoiceIdRange range = invoiceDao.findInvoiceIdRange();
+		if (range.getMinId() == null) {
+			return new FinancialTotals();
+		}
+		return reportPartitioner.execute(range.getMinId() - 1, range.getMaxId(), this::calculateFinancialTotals,
+				FinancialTotals::add);
 	}
 
-	public BigDecimal calculateTotalExpenses() {
-		BigDecimal totalExpenses = BigDecimal.ZERO;
-		List<AccountingInvoice> allInvoices = getAllInvoices();
-		for (AccountingInvoice invoice : allInvoices) {
-			totalExpenses = totalExpenses.add(calculateInvoiceExpenses(invoice));
+	private FinancialTotals calculateFinancialTotals(long afterId, long lastId) {
+		FinancialTotals totals = new FinancialTotals();
+		forEachInvoiceWindow(afterId, lastId, invoices -> {
+			Map<Long, Long> productPrices = resolveProductPrices(invoices);
+			for (Invoice invoice : invoices) {
+				totals.addInvoice(invoice, calculateInvoiceExpenses(invoice, productPrices));
+			}
+			entityManager.clear();
+		});
+		return totals;
+	}
+
+	private long calculateInvoiceExpenses(Invoice invoice, Map<Long, Long> productPrices) {
+		long totalExpenses = 0;
+		for (InvoiceItem item : invoice.getItems()) {
+			Long price = productPrices.get(item.getProductId());
+			if (price != null) {
+				totalExpenses = Math.addExact(totalExpenses, Math.multiplyExact(price.longValue(), item.getQuantity()));
+			}
 		}
 		return totalExpenses;
 	}
 
-	private BigDecimal calculateInvoiceExpenses(AccountingInvoice invoice) {
-		BigDecimal totalExpenses = BigDecimal.ZERO;
-		for (AccountingInvoiceItem item : invoice.getItems()) {
-			AccountingProduct product = getProductById(item.getProductId());
-			if (product != null) {
-				BigDecimal price = product.getPrice();
-				BigDecimal quantity = BigDecimal.valueOf(item.getQuantity());
-				totalExpenses = totalExpenses.add(price.multiply(quantity));
+	// Resolves the price of every product referenced by the invoices with one IN query per chunk.
+	// These prices feed the ledger, so they come from the database in the caller's transaction and
+	// never from a cache that a lagging replica or an older snapshot could have filled.
+	private Map<Long, Long> resolveProductPrices(Collection<Invoice> invoices) {
+		Set<Long> productIds = new HashSet<>();
+		for (Invoice invoice : invoices) {
+			for (InvoiceItem item : invoice.getItems()) {
+				productIds.add(item.getProductId());
+			}
+		}
+		return resolveProductPricesById(productIds);
+	}
+
+	private Map<Long, Long> resolveProductPricesById(Collection<Long> productIds) {
+		Map<Long, Long> productPrices = new HashMap<>();
+		List<Long> ids = new ArrayList<>(productIds);
+
+		for (int start = 0; start < ids.size(); start += PRICE_LOOKUP_CHUNK_SIZE) {
+			int end = Math.min(start + PRICE_LOOKUP_CHUNK_SIZE, ids.size());
+			for (ProductPrice productPrice : productDao.findPricesByProductIdIn(ids.subList(start, end))) {
+				if (productPrice.getPriceCents() != null) {
+					productPrices.put(productPrice.getProductId(), productPrice.getPriceCents());
+				}
 			}
 		}
-		return totalExpenses;
+		return productPrices;
 	}
 
+	@Transactional(readOnly = true)
+	public BigDecimal calculateTotalRevenue() {
+		return Money.fromMinorUnits(getLedgerTotals().getTotalRevenue());
+	}
+
+	@Transactional(readOnly = true)
+	public BigDecimal calculateTotalExpenses() {
+		return Money.fromMinorUnits(getLedgerTotals().getTotalExpenses());
+	}
+
+	@Transactional(readOnly = true)
 	public BigDecimal calculateTotalAssets() {
-		BigDecimal totalAssets = BigDecimal.ZERO;
-		List<AccountingCustomer> allCustomers = getAllCustomers();
-		for (AccountingCustomer customer : allCustomers) {
-			totalAssets = totalAssets.add(calculateCustomerTotalAssets(customer));
-		}
-		return totalAssets;
+		return Money.fromMinorUnits(getLedgerTotals().getTotalAssets());
 	}
 
+	@Transactional(readOnly = true)
 	public BigDecimal calculateNetIncome() {
-		BigDecimal totalRevenue = BigDecimal.valueOf(calculateTotalRevenue());
-		BigDecimal totalExpenses = calculateTotalExpenses();
-		return totalRevenue.subtract(totalExpenses);
+		return Money.fromMinorUnits(getLedgerTotals().getNetIncome());
 	}
 
-	private BigDecimal calculateCustomerTotalAssets(AccountingCustomer customer) {
-		BigDecimal totalAssets = BigDecimal.ZERO;
-		List<AccountingInvoice> customerInvoices = getInvoicesForCustomer(customer.getCustomerId());
-		for (AccountingInvoice invoice : customerInvoices) {
-			totalAssets = totalAssets.add(calculateInvoiceAssets(invoice));
-		}
-		return totalAssets;
+	@Transactional(readOnly = true)
+	public BigDecimal calculateTotalLiabilities() {
+		return Money.fromMinorUnits(getLedgerTotals().getTotalLiabilities());
 	}
 
-	private BigDecimal calculateInvoiceAssets(AccountingInvoice invoice) {
-		BigDecimal invoiceAssets = BigDecimal.ZERO;
-		for (AccountingInvoiceItem item : invoice.getItems()) {
-			AccountingProduct product = getProductById(item.getProductId());
-			if (product != null) {
-				BigDecimal price = product.getPrice();
-				BigDecimal quantity = BigDecimal.valueOf(item.getQuantity());
-				invoiceAssets = invoiceAssets.add(price.multiply(quantity));
-			}
-		}
-		return invoiceAssets;
+	@Transactional(readOnly = true)
+	public BigDecimal calculateTotalEquity() {
+		return Money.fromMinorUnits(getLedgerTotals().getTotalEquity());
 	}
 
-	private AccountingProduct getProductById(String productId) {
-		Optional<AccountingProduct> productOptional = productDao.findById(productId);
-		return productOptional.orElse(null);
+	@Transactional(readOnly = true)
+	public AccountingBalanceSheet getBalanceSheet() {
+		FinancialTotals totals = getLedgerTotals();
+		return new AccountingBalanceSheet(Money.fromMinorUnits(totals.getTotalAssets()),
+				Money.fromMinorUnits(totals.getTotalLiabilities()), Money.fromMinorUnits(totals.getTotalEquity()));
 	}
 
-	private BigDecimal calculateUnpaidInvoicesLiabilities() {
-		BigDecimal totalLiabilities = BigDecimal.ZERO;
-		List<AccountingInvoice> unpaidInvoices = getUnpaidInvoices();
-		for (AccountingInvoice invoice : unpaidInvoices) {
-			BigDecimal invoiceTotal = BigDecimal.valueOf(invoice.getTotalAmount());
-			totalLiabilities = totalLiabilities.add(invoiceTotal);
-		}
-		return totalLiabilities;
+	@Transactional(readOnly = true)
+	public AccountingIncomeStatement getIncomeStatement() {
+		FinancialTotals totals = getLedgerTotals();
+		return new AccountingIncomeStatement(Money.fromMinorUnits(totals.getTotalRevenue()),
+				Money.fromMinorUnits(totals.getTotalExpenses()), Money.fromMinorUnits(totals.getNetIncome()));
 	}
 
-	private List<AccountingInvoice> getUnpaidInvoices() {
-	    List<AccountingInvoice> unpaidInvoices = new ArrayList<>();
-	    List<AccountingInvoice> allInvoices = getAllInvoices();
-	    for (AccountingInvoice invoice : allInvoices) {
-	        if (!invoice.isPaid()) {
-	            unpaidInvoices.add(invoice);
-	        }
-	    }
-	    return unpaidInvoices;
+	// Running totals maintained by every write. The stripes are seeded by migration, so reads never
+	// write; should they be missing, they are rebuilt on the primary in a transaction of its own.
+	@Transactional(readOnly = true)
+	public FinancialTotals getLedgerTotals() {
+		return ledgerService.getTotals().orElseGet(() -> ledgerRebuildTemplate.execute(status -> {
+			ledgerService.lockTotals();
+			return replaceLockedLedgerTotals();
+		}));
 	}
 
+	@Transactional(readOnly = true)
+	public AccountingLedgerVerification verifyLedger() {
+		FinancialTotals recomputed = calculateFinancialTotals();
+		FinancialTotals ledger = ledgerService.getTotals().orElseGet(FinancialTotals::new);
+		return convertToLedgerVerification(ledger, recomputed, false);
+	}
 
-	public double calculateTotalLiabilities() {
-		BigDecimal totalLiabilities = calculateUnpaidInvoicesLiabilities();
-		return totalLiabilities.doubleValue();
+	// Read-write so the recomputation reads the primary rather than a possibly lagging replica. The
+	// ledger stripes stay locked from before the recomputation until the new totals commit.
+	@Transactional
+	public AccountingLedgerVerification rebuildLedger() {
+		FinancialTotals ledger = ledgerService.lockTotals();
+		FinancialTotals recomputed = replaceLockedLedgerTotals();
+		return convertToLedgerVerification(ledger, recomputed, true);
+	}
 
+	private FinancialTotals replaceLockedLedgerTotals() {
+		FinancialTotals recomputed = calculateFinancialTotals();
+		ledgerService.replaceTotals(recomputed);
+		return recomputed;
 	}
 
-	public BigDecimal calculateTotalEquity() {
-		BigDecimal totalAssets = calculateTotalAssets();
-		BigDecimal totalLiabilities = BigDecimal.valueOf(calculateTotalLiabilities());
+	private void recordInvoiceChange(FinancialTotals before, FinancialTotals after) {
+		ledgerService.applyDelta(after.subtract(before));
+		collectionVersionService.bump(CollectionVersion.INVOICES);
+		eventPublisher.publishEvent(new AccountingDataChangedEvent());
+	}
+
+	private void recordRevenueChange(RevenueRollupDelta before, RevenueRollupDelta after) {
+		revenueRollupService.applyDelta(after.subtract(before));
+	}
+
+	private void recordInvoiceItemChange(InvoiceItem item, int quantityChange) {
+		eventPublisher.publishEvent(new AccountingDataChangedEvent());
+		// Items are part of the invoice representation, so touching the invoice bumps its version and ETag
+		item.getInvoice().setUpdatedAt(new Date());
+		Long price = resolveProductPricesById(Set.of(item.getProductId())).get(item.getProductId());
+		if (price != null && quantityChange != 0) {
+			long expenses = Math.multiplyExact(price.longValue(), quantityChange);
+			long assets = item.getInvoice().getCustomer() != null ? expenses : 0;
+			ledgerService.applyDelta(new FinancialTotals(0, expenses, assets, 0));
+		}
+		collectionVersionService.bump(CollectionVersion.INVOICES);
+	}
+
+	// A price change revalues every line item that references the product
+	private void recordProductPriceChange(Long productId, Long previousPrice, Long newPrice) {
+		// Category changes move cash flows between activities even when the price stays the same
+		eventPublisher.publishEvent(new AccountingDataChangedEvent());
+		long priceChange = Math.subtractExact(newPrice != null ? newPrice : 0L,
+				previousPrice != null ? previousPrice : 0L);
+		if (priceChange != 0) {
+			ProductQuantities quantities = invoiceItemDao.sumQuantitiesByProductId(productId);
+			long expenses = Math.multiplyExact(priceChange, quantities.getQuantity());
+			long assets = Math.multiplyExact(priceChange, quantities.getCustomerQuantity());
+			ledgerService.applyDelta(new FinancialTotals(0, expenses, assets, 0));
+		}
+		collectionVersionService.bump(CollectionVersion.PRODUCTS);
+	}
+
+	private FinancialTotals contributionOf(Collection<Invoice> invoices) {
+		Map<Long, Long> productPrices = resolveProductPrices(invoices);
+		FinancialTotals totals = new FinancialTotals();
+		for (Invoice invoice : invoices) {
+			totals.addInvoice(invoice, calculateInvoiceExpenses(invoice, productPrices));
+		}
+		return totals;
+	}
 
-		return totalAssets.subtract(totalLiabilities);
+	// Moving a customer between invoices can re-home all of the customer's invoices
+	private List<Invoice> affectedByRelationshipChange(Customer customer, Invoice invoice) {
+		Set<Invoice> affectedInvoices = new LinkedHashSet<>(customer.getRelatedInvoices());
+		affectedInvoices.add(invoice);
+		if (invoice.getCustomer() != null) {
+			affectedInvoices.addAll(invoice.getCustomer().getRelatedInvoices());
+		}
+		return new ArrayList<>(affectedInvoices);
 	}
 
+	@Transactional(readOnly = true)
 	public String generateBalanceSheet() {
+		AccountingBalanceSheet report = getBalanceSheet();
 		StringBuilder balanceSheet = new StringBuilder();
 		balanceSheet.append("Balance Sheet\n");
 		balanceSheet.append("---------------\n");
-		balanceSheet.append("Assets: ").append(calculateTotalAssets()).append("\n");
-		balanceSheet.append("Liabilities: ").append(calculateTotalLiabilities()).append("\n");
-		balanceSheet.append("Equity: ").append(calculateTotalEquity()).append("\n");
+		balanceSheet.append("Assets: ").append(report.getTotalAssets()).append("\n");
+		balanceSheet.append("Liabilities: ").append(report.getTotalLiabilities()).append("\n");
+		balanceSheet.append("Equity: ").append(report.getTotalEquity()).append("\n");
 		balanceSheet.append("---------------\n");
 		return balanceSheet.toString();
 	}
 
+	@Transactional(readOnly = true)
 	public String generateIncomeStatement() {
+		AccountingIncomeStatement report = getIncomeStatement();
 		StringBuilder incomeStatement = new StringBuilder();
 		incomeStatement.append("Income Statement\n");
 		incomeStatement.append("---------------\n");
-		incomeStatement.append("Total Revenue: ").append(calculateTotalRevenue()).append("\n");
-		incomeStatement.append("Total Expenses: ").append(calculateTotalExpenses()).append("\n");
-		incomeStatement.append("Net Income: ").append(calculateNetIncome()).append("\n");
+		incomeStatement.append("Total Revenue: ").append(report.getTotalRevenue()).append("\n");
+		incomeStatement.append("Total Expenses: ").append(report.getTotalExpenses()).append("\n");
+		incomeStatement.append("Net Income: ").append(report.getNetIncome()).append("\n");
 		incomeStatement.append("---------------\n");
 		return incomeStatement.toString();
 	}
 
+	// Reads only rollup rows, one per day or month in the range; quarters and years fold the
+	// monthly rows. Without a customer the totals across all invoices are returned.
+	@Transactional(readOnly = true)
+	public AccountingRevenueReport getRevenueReport(ReportPeriod period, LocalDate from, LocalDate to,
+			Long customerId) {
+		ReportPeriod rollupPeriod = period == ReportPeriod.DAY ? ReportPeriod.DAY : ReportPeriod.MONTH;
+		LocalDate rangeStart = from != null ? period.startOf(from) : null;
+		Long rollupCustomerId = customerId != null ? customerId : RevenueRollup.ALL_CUSTOMERS;
+
+		List<AccountingRevenuePeriod> periods = new ArrayList<>();
+		LocalDate periodStart = null;
+		long periodRevenue = 0;
+		long periodInvoices = 0;
+		long totalRevenue = 0;
+		long totalInvoices = 0;
+		for (RevenueRollupTotal rollup : revenueRollupService.getRollups(rollupPeriod, rollupCustomerId, rangeStart,
+				to)) {
+			if (rollup.getInvoiceCount() == 0 && rollup.getRevenueCents() == 0) {
+				continue;
+			}
+			LocalDate start = period.startOf(rollup.getPeriodStart());
+			if (periodStart != null && !start.equals(periodStart)) {
+				periods.add(convertToRevenuePeriod(period, periodStart, periodRevenue, periodInvoices));
+				periodRevenue = 0;
+				periodInvoices = 0;
+			}
+			periodStart = start;
+			periodRevenue = Math.addExact(periodRevenue, rollup.getRevenueCents());
+			periodInvoices += rollup.getInvoiceCount();
+			totalRevenue = Math.addExact(totalRevenue, rollup.getRevenueCents());
+			totalInvoices += rollup.getInvoiceCount();
+		}
+		if (periodStart != null) {
+			periods.add(convertToRevenuePeriod(period, periodStart, periodRevenue, periodInvoices));
+		}
+		return new AccountingRevenueReport(period.name(), from, to, customerId, periods,
+				Money.fromMinorUnits(totalRevenue), totalInvoices);
+	}
+
+	// Streams every line item in invoice date order through a cursor and buckets the flows as it
+	// goes, so memory is bounded by the number of periods rather than the size of the history
+	@Transactional(readOnly = true)
+	public AccountingCashFlowStatement getCashFlowStatement(ReportPeriod period, LocalDate from, LocalDate to) {
+		CashFlowTotals totals = new CashFlowTotals(period, cashFlowClassifier);
+		try (Stream<CashFlowRow> rows = invoiceDao.streamCashFlowRows(ReportPeriod.toDate(from),
+				ReportPeriod.toDate(to))) {
+			rows.forEach(totals::addRow);
+		}
+		return convertToCashFlowStatement(totals, from, to);
+	}
+
+	@Transactional(readOnly = true)
 	public String generateCashFlowStatement() {
-		// TODO:  
-		// Tracking cash flow from operations, investing, and
-		// financing activities
-		return "";
+		AccountingCashFlowStatement report = getCashFlowStatement(ReportPeriod.MONTH, null, null);
+		StringBuilder cashFlowStatement = new StringBuilder();
+		cashFlowStatement.append("Cash Flow Statement\n");
+		cashFlowStatement.append("---------------\n");
+		for (AccountingCashFlowPeriod period : report.getPeriods()) {
+			cashFlowStatement.append(period.getPeriodStart()).append(": Operating ")
+					.append(period.getOperatingCashFlow()).append(", Investing ").append(period.getInvestingCashFlow())
+					.append(", Financing ").append(period.getFinancingCashFlow()).append(", Net ")
+					.append(period.getNetCashFlow()).append("\n");
+		}
+		cashFlowStatement.append("---------------\n");
+		cashFlowStatement.append("Operating Activities: ").append(report.getOperatingCashFlow()).append("\n");
+		cashFlowStatement.append("Investing Activities: ").append(report.getInvestingCashFlow()).append("\n");
+		cashFlowStatement.append("Financing Activities: ").append(report.getFinancingCashFlow()).append("\n");
+		cashFlowStatement.append("Net Cash Flow: ").append(report.getNetCashFlow()).append("\n");
+		cashFlowStatement.append("---------------\n");
+		return cashFlowStatement.toString();
+	}
+
+	// Helper methods for paging and streaming
+
+	// Walks every invoice in primary key order, fetching each window of IDs with its customer and
+	// items in one query so reading N invoices costs 2 statements per window instead of 1 + 2N
+	private void forEachInvoiceWindow(Consumer<List<Invoice>> consumer) {
+		forEachInvoiceWindow(0L, Long.MAX_VALUE, consumer);
+	}
+
+	// Windows of invoices with IDs in (afterId, lastId]
+	private void forEachInvoiceWindow(long afterId, long lastId, Consumer<List<Invoice>> consumer) {
+		Pageable window = PageRequest.of(0, INVOICE_WINDOW_SIZE);
+		List<Long> invoiceIds = invoiceDao.findInvoiceIdsInRange(afterId, lastId, window);
+		while (!invoiceIds.isEmpty()) {
+			consumer.accept(invoiceDao.findWithCustomerAndItemsByInvoiceIdIn(invoiceIds));
+			invoiceIds = invoiceDao.findInvoiceIdsInRange(invoiceIds.get(invoiceIds.size() - 1), lastId, window);
+		}
+	}
+
+	private AccountingResourceVersion toResourceVersion(EntityVersion version) {
+		return new AccountingResourceVersion(etagOf(version.getVersion()), version.getUpdatedAt());
+	}
+
+	// Weak, since the JSON, CBOR and Smile encodings share one validator and Tomcat will not compress a
+	// response carrying a strong ETag. A missing part, such as an invoice without a customer, is "-".
+	private static String etagOf(Object... parts) {
+		StringJoiner etag = new StringJoiner(".", "W/\"", "\"");
+		for (Object part : parts) {
+			etag.add(part != null ? part.toString() : "-");
+		}
+		return etag.toString();
+	}
+
+	private static Date latestOf(Date first, Date second) {
+		if (first == null || (second != null && second.after(first))) {
+			return second;
+		}
+		return first;
+	}
+
+	// Keyset windows of summary rows, fetched lazily so a stream only queries as far as it is read
+	private <T> Stream<T> summaryRows(Long afterId, Integer limit, BiFunction<Long, Pageable, List<T>> query,
+			Function<T, Long> idOf) {
+		Pageable page = limit != null ? pageOf(limit) : PageRequest.of(0, MAX_PAGE_SIZE);
+		return Stream.iterate(query.apply(afterId, page), rows -> !rows.isEmpty(),
+				rows -> limit != null ? List.of() : query.apply(idOf.apply(rows.get(rows.size() - 1)), page))
+				.flatMap(List::stream);
+	}
+
+	private Pageable pageOf(int limit) {
+		return PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+	}
+
+	// Writes one JSON document per line as rows come off the cursor, clearing the persistence
+	// context as it goes so memory stays flat regardless of the table size
+	private <T, R> void writeNdjson(Stream<T> rows, Function<T, R> converter, OutputStream outputStream)
+			throws IOException {
+		Iterator<T> iterator = rows.iterator();
+		int rowCount = 0;
+		while (iterator.hasNext()) {
+			outputStream.write(objectMapper.writeValueAsBytes(converter.apply(iterator.next())));
+			outputStream.write('\n');
+			if (++rowCount % STREAM_FLUSH_ROWS == 0) {
+				entityManager.clear();
+				outputStream.flush();
+			}
+		}
+		outputStream.flush();
 	}
 
 	// Helper methods for conversion between Entity and Accounting models
@@ -414,7 +1053,14 @@ public class AccountingFilesService {
 	}
 
 	private Customer convertToEntity(Customer customer) {
-		return new Customer(customer.getFirstName(), customer.getLastName(), customer.getEmail());
+		if (customer == null) {
+			return null;
+		}
+		Customer copy = new Customer(customer.getFirstName(), customer.getLastName(), customer.getEmail());
+		copy.setCustomerId(customer.getCustomerId());
+		copy.setVersion(customer.getVersion());
+		copy.setUpdatedAt(customer.getUpdatedAt());
+		return copy;
 	}
 
 	private AccountingInvoice convertToAccountingInvoice(Invoice invoice) {
@@ -422,7 +1068,15 @@ public class AccountingFilesService {
 		for (InvoiceItem item : invoice.getItems()) {
 			accountingItems.add(convertToAccountingInvoiceItem(item));
 		}
-		return new AccountingInvoice();
+		AccountingInvoice accountingInvoice = new AccountingInvoice();
+		accountingInvoice.setInvoiceId(String.valueOf(invoice.getInvoiceId()));
+		accountingInvoice.setCustomer(convertToEntity(invoice.getCustomer()));
+		accountingInvoice.setInvoiceDate(invoice.getInvoiceDate());
+		accountingInvoice.setTotalAmount(Money.fromMinorUnits(invoice.getTotalAmountCents()));
+		accountingInvoice.setClosed(invoice.isClosed());
+		accountingInvoice.setVersion(invoice.getVersion());
+		accountingInvoice.setItems(accountingItems);
+		return accountingInvoice;
 	}
 
 	private Invoice convertToEntity(AccountingInvoice accountingInvoice) {
@@ -432,13 +1086,20 @@ public class AccountingFilesService {
 		}
 		invoice.setCustomer(convertToEntity(accountingInvoice.getCustomer()));
 		invoice.setInvoiceDate(accountingInvoice.getInvoiceDate());
-		invoice.setTotalAmount(accountingInvoice.getTotalAmount());
+		invoice.setTotalAmountCents(Money.toMinorUnits(accountingInvoice.getTotalAmount()));
 		invoice.setClosed(accountingInvoice.isClosed());
 		return invoice;
 	}
 
 	private AccountingInvoiceItem convertToAccountingInvoiceItem(InvoiceItem item) {
-		return new AccountingInvoiceItem();
+		AccountingInvoiceItem accountingItem = new AccountingInvoiceItem();
+		accountingItem.setItemId(String.valueOf(item.getItemId()));
+		accountingItem.setProductId(String.valueOf(item.getProductId()));
+		accountingItem.setQuantity(item.getQuantity());
+		if (item.getInvoice() != null) {
+			accountingItem.setInvoice_invoiceId(String.valueOf(item.getInvoice().getInvoiceId()));
+		}
+		return accountingItem;
 	}
 
 	private InvoiceItem convertToEntity(AccountingInvoiceItem accountingItem) {
@@ -451,15 +1112,53 @@ public class AccountingFilesService {
 		return item;
 	}
 
+	private AccountingLedgerVerification convertToLedgerVerification(FinancialTotals ledger,
+			FinancialTotals recomputed, boolean rebuilt) {
+		FinancialTotals drift = ledger.subtract(recomputed);
+		return new AccountingLedgerVerification(convertToLedgerTotals(ledger), convertToLedgerTotals(recomputed),
+				convertToLedgerTotals(drift), drift.isZero(), rebuilt);
+	}
+
+	private AccountingLedgerTotals convertToLedgerTotals(FinancialTotals totals) {
+		return new AccountingLedgerTotals(Money.fromMinorUnits(totals.getTotalRevenue()),
+				Money.fromMinorUnits(totals.getTotalExpenses()), Money.fromMinorUnits(totals.getTotalAssets()),
+				Money.fromMinorUnits(totals.getTotalLiabilities()));
+	}
+
+	private AccountingRevenuePeriod convertToRevenuePeriod(ReportPeriod period, LocalDate periodStart,
+			long revenue, long invoices) {
+		return new AccountingRevenuePeriod(periodStart, period.next(periodStart), Money.fromMinorUnits(revenue),
+				invoices);
+	}
+
+	private AccountingCashFlowStatement convertToCashFlowStatement(CashFlowTotals totals, LocalDate from,
+			LocalDate to) {
+		List<AccountingCashFlowPeriod> periods = new ArrayList<>();
+		for (CashFlowTotals.Period period : totals.getPeriods()) {
+			periods.add(new AccountingCashFlowPeriod(period.getStart(), period.getEnd(), period.getInvoiceCount(),
+					Money.fromMinorUnits(period.getOperating()), Money.fromMinorUnits(period.getInvesting()),
+					Money.fromMinorUnits(period.getFinancing()), Money.fromMinorUnits(period.getNet())));
+		}
+		return new AccountingCashFlowStatement(totals.getPeriod().name(), from, to, periods,
+				Money.fromMinorUnits(totals.getOperating()), Money.fromMinorUnits(totals.getInvesting()),
+				Money.fromMinorUnits(totals.getFinancing()), Money.fromMinorUnits(totals.getNet()));
+	}
+
 	private AccountingProduct convertToAccountingProduct(Product product) {
 		return new AccountingProduct(product.getProductId(), product.getName(), product.getCategory(),
-				product.getPrice());
+				Money.fromNullableMinorUnits(product.getPriceCents()));
 	}
 
 	private Product convertToEntity(AccountingProduct accountingProduct) {
-		return new Product();
+		Product product = new Product();
+		product.setProductId(accountingProduct.getProductId());
+		product.setName(accountingProduct.getName());
+		product.setCategory(accountingProduct.getCategory());
+		product.setPriceCents(Money.toNullableMinorUnits(accountingProduct.getPrice()));
+		return product;
 	}
 
+	@Transactional
 	public boolean assignCustomerToInvoice(Long customerId, String invoiceId) {
 		Optional<Customer> customerOptional = customerDao.findById(customerId);
 		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
@@ -470,27 +1169,150 @@ public class AccountingFilesService {
 
 			// Check if the customer is already assigned to the invoice
 			if (!invoice.getCustomer().contains(customer)) {
+				List<Invoice> affectedInvoices = affectedByRelationshipChange(customer, invoice);
+				FinancialTotals before = contributionOf(affectedInvoices);
+				RevenueRollupDelta revenueBefore = RevenueRollupDelta.ofInvoices(affectedInvoices);
 				invoice.getCustomer().add(customer);
 				invoiceDao.save(invoice);
+				recordInvoiceChange(before, contributionOf(affectedInvoices));
+				recordRevenueChange(revenueBefore, RevenueRollupDelta.ofInvoices(affectedInvoices));
 				return true;
 			}
 		}
 		return false;
 	}
 
-	public List<AccountingInvoice> getInvoicesForCustomer(Long customerId) {
-		Optional<Customer> customerOptional = customerDao.findById(customerId);
-		if (customerOptional.isPresent()) {
-			Customer customer = customerOptional.get();
-			List<AccountingInvoice> accountingInvoices = new ArrayList<>();
-			for (Invoice invoice : customer.getInvoices()) {
+	// Without a limit every matching invoice is returned, read a window at a time
+	@Transactional(readOnly = true)
+	public List<AccountingInvoice> getInvoicesForCustomer(Long customerId, Long afterId, Integer limit,
+			LocalDate from, LocalDate to, Boolean closed) {
+		if (!customerDao.existsById(customerId)) {
+			return null;
+		}
+		Date fromDate = ReportPeriod.toDate(from);
+		Date toDate = ReportPeriod.toDate(to);
+		List<AccountingInvoice> accountingInvoices = new ArrayList<>();
+		Pageable page = limit != null ? pageOf(limit) : PageRequest.of(0, INVOICE_WINDOW_SIZE);
+		List<Long> invoiceIds = invoiceDao.findInvoiceIdsForCustomer(customerId, afterId, fromDate, toDate, closed,
+				page);
+		while (!invoiceIds.isEmpty()) {
+			for (Invoice invoice : invoiceDao.findWithCustomerAndItemsByInvoiceIdIn(invoiceIds)) {
 				accountingInvoices.add(convertToAccountingInvoice(invoice));
 			}
-			return accountingInvoices;
+			if (limit != null) {
+				break;
+			}
+			afterId = invoiceIds.get(invoiceIds.size() - 1);
+			invoiceIds = invoiceDao.findInvoiceIdsForCustomer(customerId, afterId, fromDate, toDate, closed, page);
 		}
-		return null;
+		return accountingInvoices;
+	}
+
+	@Transactional(readOnly = true)
+	public List<AccountingCustomerAssets> getCustomerAssets(Long afterId, int limit) {
+		List<AccountingCustomerAssets> customerAssets = new ArrayList<>();
+		for (CustomerAssets assets : invoiceDao.sumAssetsByCustomer(afterId, pageOf(limit))) {
+			customerAssets.add(new AccountingCustomerAssets(assets.getCustomerId(), assets.getInvoiceCount(),
+					Money.fromMinorUnits(assets.getAssetsCents())));
+		}
+		return customerAssets;
+	}
+
+	// Versions for conditional requests, read without loading the entities they describe
+
+	@Transactional(readOnly = true)
+	public AccountingResourceVersion getInvoiceVersion(String invoiceId) {
+		return invoiceDao.findVersionByInvoiceId(Long.parseLong(invoiceId))
+				.map(version -> new AccountingResourceVersion(etagOf(version.getVersion(), version.getCustomerVersion()),
+						latestOf(version.getUpdatedAt(), version.getCustomerUpdatedAt())))
+				.orElse(null);
+	}
+
+	@Transactional(readOnly = true)
+	public AccountingResourceVersion getCustomerVersion(Long customerId) {
+		return customerDao.findVersionByCustomerId(customerId).map(this::toResourceVersion).orElse(null);
+	}
+
+	@Transactional(readOnly = true)
+	public AccountingResourceVersion getProductVersion(Long productId) {
+		return productDao.findVersionByProductId(productId).map(this::toResourceVersion).orElse(null);
+	}
+
+	// Listings are versioned by a per-collection counter that every write bumps; see CollectionVersionService
+
+	@Transactional(readOnly = true)
+	public AccountingResourceVersion getInvoicesVersion() {
+		return getCollectionVersion(CollectionVersion.INVOICES);
+	}
+
+	@Transactional(readOnly = true)
+	public AccountingResourceVersion getCustomersVersion() {
+		return getCollectionVersion(CollectionVersion.CUSTOMERS);
 	}
 
+	@Transactional(readOnly = true)
+	public AccountingResourceVersion getProductsVersion() {
+		return getCollectionVersion(CollectionVersion.PRODUCTS);
+	}
+
+	private AccountingResourceVersion getCollectionVersion(String collection) {
+		return collectionVersionService.getVersion(collection)
+				.map(version -> new AccountingResourceVersion(etagOf(version.getVersion()), version.getUpdatedAt()))
+				.orElse(null);
+	}
+
+	// Summary views select scalar columns into projections, so no entity is hydrated or enters the
+	// persistence context. Without a limit every row after afterId is returned, a window at a time.
+	@Transactional(readOnly = true)
+	public List<AccountingInvoiceSummary> getInvoiceSummaries(Long afterId, Integer limit) {
+		return invoiceSummaries(afterId, limit).toList();
+	}
+
+	@Transactional(readOnly = true)
+	public void streamInvoiceSummaries(Long afterId, Integer limit, OutputStream outputStream) throws IOException {
+		writeNdjson(invoiceSummaries(afterId, limit), Function.identity(), outputStream);
+	}
+
+	private Stream<AccountingInvoiceSummary> invoiceSummaries(Long afterId, Integer limit) {
+		return summaryRows(afterId, limit, invoiceDao::findSummariesAfter, InvoiceSummary::getInvoiceId)
+				.map(summary -> new AccountingInvoiceSummary(String.valueOf(summary.getInvoiceId()),
+						summary.getCustomerId(), summary.getInvoiceDate(),
+						Money.fromMinorUnits(summary.getTotalAmountCents()), summary.getClosed()));
+	}
+
+	@Transactional(readOnly = true)
+	public List<AccountingCustomerSummary> getCustomerSummaries(Long afterId, Integer limit) {
+		return customerSummaries(afterId, limit).toList();
+	}
+
+	@Transactional(readOnly = true)
+	public void streamCustomerSummaries(Long afterId, Integer limit, OutputStream outputStream) throws IOException {
+		writeNdjson(customerSummaries(afterId, limit), Function.identity(), outputStream);
+	}
+
+	private Stream<AccountingCustomerSummary> customerSummaries(Long afterId, Integer limit) {
+		return summaryRows(afterId, limit, customerDao::findSummariesAfter, CustomerSummary::getCustomerId)
+				.map(summary -> new AccountingCustomerSummary(summary.getCustomerId(), summary.getFirstName(),
+						summary.getLastName()));
+	}
+
+	@Transactional(readOnly = true)
+	public List<AccountingProductSummary> getProductSummaries(Long afterId, Integer limit) {
+		return productSummaries(afterId, limit).toList();
+	}
+
+	@Transactional(readOnly = true)
+	public void streamProductSummaries(Long afterId, Integer limit, OutputStream outputStream) throws IOException {
+		writeNdjson(productSummaries(afterId, limit), Function.identity(), outputStream);
+	}
+
+	private Stream<AccountingProductSummary> productSummaries(Long afterId, Integer limit) {
+		return summaryRows(afterId, limit, productDao::findSummariesAfter, ProductSummary::getProductId)
+				.map(summary -> new AccountingProductSummary(summary.getProductId(), summary.getName(),
+						Money.fromMinorUnits(summary.getPriceCents())));
+	}
+
+	@Transactional
 	public boolean updateCustomerInvoiceRelationship(Long customerId, String invoiceId) {
 		Optional<Customer> customerOptional = customerDao.findById(customerId);
 		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
@@ -501,14 +1323,78 @@ public class AccountingFilesService {
 
 			// Check if the customer is already assigned to the invoice
 			if (!invoice.getCustomer().contains(customer)) {
+				List<Invoice> affectedInvoices = affectedByRelationshipChange(customer, invoice);
+				FinancialTotals before = contributionOf(affectedInvoices);
+				RevenueRollupDelta revenueBefore = RevenueRollupDelta.ofInvoices(affectedInvoices);
 				invoice.getCustomer().add(customer);
 				invoiceDao.save(invoice);
+				recordInvoiceChange(before, contributionOf(affectedInvoices));
+				recordRevenueChange(revenueBefore, RevenueRollupDelta.ofInvoices(affectedInvoices));
 				return true;
 			}
 		}
 		return false;
 	}
 
+	// Re-homes a batch of invoices with one ownership query and one set-based update per chunk. Each
+	// requested ID reports whether it moved, already belonged to the customer or does not exist.
+	@Transactional
+	public AccountingCustomerInvoiceResult assignInvoicesToCustomer(Long customerId, List<Long> invoiceIds) {
+		if (!customerDao.existsById(customerId)) {
+			return null;
+		}
+		Customer customer = customerDao.getReferenceById(customerId);
+		List<Long> requestedIds = invoiceIds.stream().filter(Objects::nonNull).distinct().toList();
+		List<AccountingCustomerInvoiceRecord> records = new ArrayList<>();
+		FinancialTotals before = new FinancialTotals();
+		FinancialTotals after = new FinancialTotals();
+		RevenueRollupDelta revenueBefore = new RevenueRollupDelta();
+		RevenueRollupDelta revenueAfter = new RevenueRollupDelta();
+		int assigned = 0;
+
+		for (int start = 0; start < requestedIds.size(); start += RELATIONSHIP_CHUNK_SIZE) {
+			int end = Math.min(start + RELATIONSHIP_CHUNK_SIZE, requestedIds.size());
+			List<Long> chunk = requestedIds.subList(start, end);
+			Map<Long, InvoiceOwnership> ownerships = new HashMap<>();
+			for (InvoiceOwnership ownership : invoiceDao.findOwnershipByInvoiceIdIn(chunk)) {
+				ownerships.put(ownership.getInvoiceId(), ownership);
+			}
+
+			List<Long> movingIds = new ArrayList<>();
+			for (Long invoiceId : chunk) {
+				InvoiceOwnership ownership = ownerships.get(invoiceId);
+				if (ownership == null) {
+					records.add(new AccountingCustomerInvoiceRecord(String.valueOf(invoiceId),
+							AccountingCustomerInvoiceRecord.NOT_FOUND, "Unknown invoice " + invoiceId));
+				} else if (customerId.equals(ownership.getCustomerId())) {
+					records.add(new AccountingCustomerInvoiceRecord(String.valueOf(invoiceId),
+							AccountingCustomerInvoiceRecord.UNCHANGED, null));
+				} else {
+					long total = ownership.getTotalAmountCents();
+					long expenses = ownership.getExpensesCents();
+					before.addInvoice(total, expenses, ownership.getCustomerId() != null);
+					after.addInvoice(total, expenses, true);
+					revenueBefore.addInvoice(ownership.getInvoiceDate(), total, ownership.getCustomerId());
+					revenueAfter.addInvoice(ownership.getInvoiceDate(), total, customerId);
+					movingIds.add(invoiceId);
+					records.add(new AccountingCustomerInvoiceRecord(String.valueOf(invoiceId),
+							AccountingCustomerInvoiceRecord.ASSIGNED, null));
+				}
+			}
+			if (!movingIds.isEmpty()) {
+				assigned += invoiceDao.assignCustomer(customer, movingIds, new Date());
+			}
+		}
+
+		if (assigned > 0) {
+			recordInvoiceChange(before, after);
+			recordRevenueChange(revenueBefore, revenueAfter);
+		}
+		return new AccountingCustomerInvoiceResult(customerId, requestedIds.size(), assigned, records);
+	}
+
+	// The invoice's customer is a lazy association, so it has to be read inside the transaction
+	@Transactional(readOnly = true)
 	public List<AccountingCustomer> getCustomersForInvoice(String invoiceId) {
 		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
 		if (invoiceOptional.isPresent()) {
@@ -522,6 +1408,7 @@ public class AccountingFilesService {
 		return null;
 	}
 
+	@Transactional
 	public boolean removeCustomerInvoiceRelationship(Long customerId, String invoiceId) {
 		Optional<Customer> customerOptional = customerDao.findById(customerId);
 		Optional<Invoice> invoiceOptional = invoiceDao.findById(Long.parseLong(invoiceId));
@@ -532,8 +1419,13 @@ public class AccountingFilesService {
 
 			// Check if the customer is assigned to the invoice
 			if (invoice.getCustomer().contains(customer)) {
+				List<Invoice> affectedInvoices = affectedByRelationshipChange(customer, invoice);
+				FinancialTotals before = contributionOf(affectedInvoices);
+				RevenueRollupDelta revenueBefore = RevenueRollupDelta.ofInvoices(affectedInvoices);
 				invoice.getCustomer().remove(customer);
 				invoiceDao.save(invoice);
+				recordInvoiceChange(before, contributionOf(affectedInvoices));
+				recordRevenueChange(revenueBefore, RevenueRollupDelta.ofInvoices(affectedInvoices));
 				return true;
 			}
 		}
@@ -0,0 +1,36 @@
+package accounting.files.service;
+
+import javax.cache.CacheManager;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import accounting.files.config.SecondLevelCacheConfig;
+import accounting.files.controller.model.AccountingProductCacheStats;
+
+// Reads the Caffeine statistics behind the second-level cache regions
+@Service
+public class CacheStatsService {
+
+	private final CacheManager secondLevelCacheManager;
+
+	public CacheStatsService(CacheManager secondLevelCacheManager) {
+		this.secondLevelCacheManager = secondLevelCacheManager;
+	}
+
+	public AccountingProductCacheStats getProductCacheStats() {
+		Cache<?, ?> region = secondLevelCacheManager.getCache(SecondLevelCacheConfig.PRODUCT_REGION)
+				.unwrap(Cache.class);
+		CacheStats stats = region.stats();
+		long maxSize = region.policy().eviction().map(Policy.Eviction::getMaximum).orElse(Long.MAX_VALUE);
+		return new AccountingProductCacheStats(saturatedInt(region.estimatedSize()), saturatedInt(maxSize),
+				stats.hitCount(), stats.missCount(), stats.evictionCount());
+	}
+
+	private static int saturatedInt(long value) {
+		return (int) Math.min(value, Integer.MAX_VALUE);
+	}
+}
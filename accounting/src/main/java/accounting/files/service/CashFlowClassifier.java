@@ -0,0 +1,53 @@
+package accounting.files.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Maps a product category to the cash-flow activity its purchases belong to; anything not listed
+// as investing or financing is an operating outflow
+@Component
+public class CashFlowClassifier {
+
+	public enum Activity {
+		OPERATING, INVESTING, FINANCING
+	}
+
+	private final Set<String> investingCategories;
+	private final Set<String> financingCategories;
+
+	public CashFlowClassifier(
+			@Value("${accounting.cash-flow.investing-categories:equipment,property}") List<String> investingCategories,
+			@Value("${accounting.cash-flow.financing-categories:loan,equity}") List<String> financingCategories) {
+		this.investingCategories = normalize(investingCategories);
+		this.financingCategories = normalize(financingCategories);
+	}
+
+	public Activity classify(String category) {
+		if (category == null) {
+			return Activity.OPERATING;
+		}
+		String key = category.trim().toLowerCase(Locale.ROOT);
+		if (investingCategories.contains(key)) {
+			return Activity.INVESTING;
+		}
+		if (financingCategories.contains(key)) {
+			return Activity.FINANCING;
+		}
+		return Activity.OPERATING;
+	}
+
+	private static Set<String> normalize(List<String> categories) {
+		Set<String> normalized = new HashSet<>();
+		for (String category : categories) {
+			if (!category.isBlank()) {
+				normalized.add(category.trim().toLowerCase(Locale.ROOT));
+			}
+		}
+		return normalized;
+	}
+}
@@ -0,0 +1,129 @@
+package accounting.files.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import accounting.files.dao.CashFlowRow;
+
+// Folds date-ordered cash-flow rows into per-period totals in a single pass. Only the open period
+// is mutable, and rows for one invoice arrive together so its total is counted once however many
+// line items it has. Amounts are long minor units (see Money).
+public class CashFlowTotals {
+	private final ReportPeriod period;
+	private final CashFlowClassifier classifier;
+	private final List<Period> periods = new ArrayList<>();
+	private Period current;
+	private Long lastInvoiceId;
+
+	public CashFlowTotals(ReportPeriod period, CashFlowClassifier classifier) {
+		this.period = period;
+		this.classifier = classifier;
+	}
+
+	public void addRow(CashFlowRow row) {
+		LocalDate invoiceDate = ReportPeriod.toLocalDate(row.getInvoiceDate());
+		if (current == null || !invoiceDate.isBefore(current.end)) {
+			LocalDate start = period.startOf(invoiceDate);
+			current = new Period(start, period.next(start));
+			periods.add(current);
+		}
+
+		// Cash is only received for invoices with a positive total; the rest are still outstanding
+		if (!row.getInvoiceId().equals(lastInvoiceId)) {
+			lastInvoiceId = row.getInvoiceId();
+			current.invoiceCount++;
+			long totalAmount = row.getTotalAmountCents() != null ? row.getTotalAmountCents() : 0;
+			if (totalAmount > 0) {
+				current.operating = Math.addExact(current.operating, totalAmount);
+			}
+		}
+
+		if (row.getPriceCents() != null && row.getQuantity() != null) {
+			long outflow = Math.multiplyExact(row.getPriceCents().longValue(), row.getQuantity());
+			switch (classifier.classify(row.getCategory())) {
+			case INVESTING -> current.investing = Math.subtractExact(current.investing, outflow);
+			case FINANCING -> current.financing = Math.subtractExact(current.financing, outflow);
+			default -> current.operating = Math.subtractExact(current.operating, outflow);
+			}
+		}
+	}
+
+	public ReportPeriod getPeriod() {
+		return period;
+	}
+
+	public List<Period> getPeriods() {
+		return periods;
+	}
+
+	public long getOperating() {
+		long total = 0;
+		for (Period p : periods) {
+			total = Math.addExact(total, p.operating);
+		}
+		return total;
+	}
+
+	public long getInvesting() {
+		long total = 0;
+		for (Period p : periods) {
+			total = Math.addExact(total, p.investing);
+		}
+		return total;
+	}
+
+	public long getFinancing() {
+		long total = 0;
+		for (Period p : periods) {
+			total = Math.addExact(total, p.financing);
+		}
+		return total;
+	}
+
+	public long getNet() {
+		return Math.addExact(Math.addExact(getOperating(), getInvesting()), getFinancing());
+	}
+
+	public static class Period {
+		private final LocalDate start;
+		private final LocalDate end;
+		private long operating;
+		private long investing;
+		private long financing;
+		private long invoiceCount;
+
+		Period(LocalDate start, LocalDate end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		public LocalDate getStart() {
+			return start;
+		}
+
+		public LocalDate getEnd() {
+			return end;
+		}
+
+		public long getOperating() {
+			return operating;
+		}
+
+		public long getInvesting() {
+			return investing;
+		}
+
+		public long getFinancing() {
+			return financing;
+		}
+
+		public long getInvoiceCount() {
+			return invoiceCount;
+		}
+
+		public long getNet() {
+			return Math.addExact(Math.addExact(operating, investing), financing);
+		}
+	}
+}
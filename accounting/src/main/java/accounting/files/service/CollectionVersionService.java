@@ -0,0 +1,79 @@
+package accounting.files.service;
+
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import accounting.files.dao.CollectionVersionDao;
+import accounting.files.dao.EntityVersion;
+import accounting.files.entity.CollectionVersion;
+import jakarta.persistence.EntityManager;
+
+@Service
+public class CollectionVersionService {
+
+	private final CollectionVersionDao collectionVersionDao;
+	private final EntityManager entityManager;
+
+	@Autowired
+	public CollectionVersionService(CollectionVersionDao collectionVersionDao, EntityManager entityManager) {
+		this.collectionVersionDao = collectionVersionDao;
+		this.entityManager = entityManager;
+	}
+
+	// Commits with the caller's write, so a listing never shows the new version before the new data.
+	// The counters are only bumped just before the commit, after everything else is flushed, so a
+	// writer holds a counter row for no longer than its commit and, taking it last, can never wait
+	// on another writer while holding it. Each transaction bumps a single stripe per collection.
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void bump(String... collections) {
+		PendingBumps pending = (PendingBumps) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			pending = new PendingBumps();
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(pending);
+		}
+		pending.collections.addAll(Set.of(collections));
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<EntityVersion> getVersion(String collection) {
+		EntityVersion version = collectionVersionDao.findVersion(collection);
+		return version != null && version.getVersion() != null ? Optional.of(version) : Optional.empty();
+	}
+
+	private void bumpNow(Set<String> collections) {
+		int stripe = Math.floorMod(Thread.currentThread().getId(), CollectionVersion.STRIPES);
+		Date now = new Date();
+		if (collectionVersionDao.bump(collections, stripe, now) < collections.size()) {
+			for (String collection : collections) {
+				collectionVersionDao.insertIfMissing(collection, stripe, now);
+			}
+		}
+	}
+
+	// Every bump of one transaction, applied together as its last statement
+	private class PendingBumps implements TransactionSynchronization {
+
+		private final Set<String> collections = new LinkedHashSet<>();
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			entityManager.flush();
+			bumpNow(collections);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResource(CollectionVersionService.this);
+		}
+	}
+}
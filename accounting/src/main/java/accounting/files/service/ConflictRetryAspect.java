@@ -0,0 +1,71 @@
+package accounting.files.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Retries @RetryOnConflict calls that lose an optimistic lock, up to max-attempts runs in all, with a
+// growing, jittered pause in between. Ordered inside the metrics aspect but outside the transaction
+// advice, so every attempt gets a fresh transaction and persistence context. Each conflict counts in
+// accounting.conflicts by outcome: retried, exhausted, or stale when the client's own version was old.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConflictRetryAspect {
+
+	private final MeterRegistry meterRegistry;
+	private final int maxAttempts;
+	private final long backoffMillis;
+
+	@Autowired
+	public ConflictRetryAspect(MeterRegistry meterRegistry,
+			@Value("${accounting.conflict-retry.max-attempts:3}") int maxAttempts,
+			@Value("${accounting.conflict-retry.backoff:10ms}") Duration backoff) {
+		this.meterRegistry = meterRegistry;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.backoffMillis = backoff.toMillis();
+	}
+
+	@Around("@annotation(accounting.files.service.RetryOnConflict)")
+	public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+		// Within a caller's transaction the failed persistence context cannot be reused, so the
+		// caller has to retry as a whole
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return joinPoint.proceed();
+		}
+		String method = joinPoint.getSignature().getName();
+		for (int attempt = 1;; attempt++) {
+			try {
+				return joinPoint.proceed();
+			} catch (StaleVersionException e) {
+				countConflict(method, "stale");
+				throw e;
+			} catch (OptimisticLockingFailureException e) {
+				if (attempt >= maxAttempts) {
+					countConflict(method, "exhausted");
+					throw e;
+				}
+				countConflict(method, "retried");
+				Thread.sleep(backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+			}
+		}
+	}
+
+	private void countConflict(String method, String outcome) {
+		Counter.builder("accounting.conflicts").tag("method", method).tag("outcome", outcome).register(meterRegistry)
+				.increment();
+	}
+}
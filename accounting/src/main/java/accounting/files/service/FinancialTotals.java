@@ -0,0 +1,89 @@
+package accounting.files.service;
+
+import accounting.files.entity.Invoice;
+
+// All totals are long minor units (see Money) so aggregation stays exact and allocation free
+public class FinancialTotals {
+	private long totalRevenue;
+	private long totalExpenses;
+	private long totalAssets;
+	private long totalLiabilities;
+
+	public FinancialTotals() {
+	}
+
+	public FinancialTotals(long totalRevenue, long totalExpenses, long totalAssets, long totalLiabilities) {
+		this.totalRevenue = totalRevenue;
+		this.totalExpenses = totalExpenses;
+		this.totalAssets = totalAssets;
+		this.totalLiabilities = totalLiabilities;
+	}
+
+	// The contribution of a single invoice, used to derive ledger deltas around a write
+	public static FinancialTotals ofInvoice(Invoice invoice, long invoiceExpenses) {
+		FinancialTotals totals = new FinancialTotals();
+		totals.addInvoice(invoice, invoiceExpenses);
+		return totals;
+	}
+
+	// Folds one invoice into every total so a report only needs a single pass
+	public void addInvoice(Invoice invoice, long invoiceExpenses) {
+		addInvoice(invoice.getTotalAmountCents(), invoiceExpenses, invoice.getCustomer() != null);
+	}
+
+	public void addInvoice(long invoiceTotal, long invoiceExpenses, boolean hasCustomer) {
+		totalRevenue = Math.addExact(totalRevenue, invoiceTotal);
+		totalExpenses = Math.addExact(totalExpenses, invoiceExpenses);
+
+		// Assets are the line item values of invoices that belong to a customer
+		if (hasCustomer) {
+			totalAssets = Math.addExact(totalAssets, invoiceExpenses);
+		}
+
+		// Unpaid invoices are carried as liabilities
+		if (invoiceTotal <= 0) {
+			totalLiabilities = Math.addExact(totalLiabilities, invoiceTotal);
+		}
+	}
+
+	public FinancialTotals add(FinancialTotals other) {
+		return new FinancialTotals(Math.addExact(totalRevenue, other.totalRevenue),
+				Math.addExact(totalExpenses, other.totalExpenses), Math.addExact(totalAssets, other.totalAssets),
+				Math.addExact(totalLiabilities, other.totalLiabilities));
+	}
+
+	public FinancialTotals subtract(FinancialTotals other) {
+		return new FinancialTotals(Math.subtractExact(totalRevenue, other.totalRevenue),
+				Math.subtractExact(totalExpenses, other.totalExpenses),
+				Math.subtractExact(totalAssets, other.totalAssets),
+				Math.subtractExact(totalLiabilities, other.totalLiabilities));
+	}
+
+	public boolean isZero() {
+		return totalRevenue == 0 && totalExpenses == 0 && totalAssets == 0 && totalLiabilities == 0;
+	}
+
+	public long getTotalRevenue() {
+		return totalRevenue;
+	}
+
+	public long getTotalExpenses() {
+		return totalExpenses;
+	}
+
+	public long getTotalAssets() {
+		return totalAssets;
+	}
+
+	public long getTotalLiabilities() {
+		return totalLiabilities;
+	}
+
+	public long getNetIncome() {
+		return Math.subtractExact(totalRevenue, totalExpenses);
+	}
+
+	public long getTotalEquity() {
+		return Math.subtractExact(totalAssets, totalLiabilities);
+	}
+}
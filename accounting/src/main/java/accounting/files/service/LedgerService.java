@@ -0,0 +1,81 @@
+package accounting.files.service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import accounting.files.dao.LedgerTotalsDao;
+import accounting.files.entity.LedgerTotals;
+
+@Service
+public class LedgerService {
+
+	private final LedgerTotalsDao ledgerTotalsDao;
+
+	@Autowired
+	public LedgerService(LedgerTotalsDao ledgerTotalsDao) {
+		this.ledgerTotalsDao = ledgerTotalsDao;
+	}
+
+	// Runs inside the caller's write so the totals commit or roll back together with it. The stripe
+	// follows the thread, so every delta of one transaction lands on the same row and two writers
+	// can never hold each other's stripes.
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void applyDelta(FinancialTotals delta) {
+		if (delta.isZero()) {
+			return;
+		}
+		Long stripe = 1L + Math.floorMod(Thread.currentThread().getId(), (long) LedgerTotals.STRIPES);
+		if (applyDelta(stripe, delta) == 0) {
+			ledgerTotalsDao.insertIfMissing(stripe);
+			applyDelta(stripe, delta);
+		}
+	}
+
+	private int applyDelta(Long stripe, FinancialTotals delta) {
+		return ledgerTotalsDao.applyDelta(stripe, delta.getTotalRevenue(), delta.getTotalExpenses(),
+				delta.getTotalAssets(), delta.getTotalLiabilities());
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<FinancialTotals> getTotals() {
+		List<LedgerTotals> stripes = ledgerTotalsDao.findAll();
+		return stripes.isEmpty() ? Optional.empty() : Optional.of(sumOf(stripes));
+	}
+
+	// Locks every stripe until the caller's transaction ends and returns the totals they held.
+	// Writers apply their deltas to these rows, so a recomputation started after this neither
+	// misses a concurrent write nor counts it twice. Must be the first statement of the
+	// transaction, before its read snapshot is taken.
+	@Transactional(propagation = Propagation.MANDATORY)
+	public FinancialTotals lockTotals() {
+		ledgerTotalsDao.insertIfMissing(LedgerTotals.LEDGER_ID);
+		return sumOf(ledgerTotalsDao.findAllForUpdate());
+	}
+
+	// Only valid while holding the locks from lockTotals
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void replaceTotals(FinancialTotals totals) {
+		ledgerTotalsDao.replaceTotals(LedgerTotals.LEDGER_ID, totals.getTotalRevenue(), totals.getTotalExpenses(),
+				totals.getTotalAssets(), totals.getTotalLiabilities(), new Date());
+		ledgerTotalsDao.clearOtherStripes(LedgerTotals.LEDGER_ID);
+	}
+
+	private FinancialTotals sumOf(List<LedgerTotals> stripes) {
+		FinancialTotals totals = new FinancialTotals();
+		for (LedgerTotals stripe : stripes) {
+			totals = totals.add(convertToTotals(stripe));
+		}
+		return totals;
+	}
+
+	private FinancialTotals convertToTotals(LedgerTotals ledger) {
+		return new FinancialTotals(ledger.getTotalRevenueCents(), ledger.getTotalExpensesCents(),
+				ledger.getTotalAssetsCents(), ledger.getTotalLiabilitiesCents());
+	}
+}
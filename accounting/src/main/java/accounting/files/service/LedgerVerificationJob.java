@@ -0,0 +1,34 @@
+package accounting.files.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import accounting.files.controller.model.AccountingLedgerTotals;
+import accounting.files.controller.model.AccountingLedgerVerification;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class LedgerVerificationJob {
+
+	private final AccountingFilesService accountingFilesService;
+
+	@Autowired
+	public LedgerVerificationJob(AccountingFilesService accountingFilesService) {
+		this.accountingFilesService = accountingFilesService;
+	}
+
+	@Scheduled(cron = "${accounting.ledger.verify-cron:-}")
+	public void verifyLedger() {
+		AccountingLedgerVerification verification = accountingFilesService.verifyLedger();
+		if (verification.isConsistent()) {
+			log.info("Ledger totals verified, no drift found");
+		} else {
+			AccountingLedgerTotals drift = verification.getDrift();
+			log.warn("Ledger totals drifted from recomputed values: revenue {}, expenses {}, assets {}, liabilities {}",
+					drift.getTotalRevenue(), drift.getTotalExpenses(), drift.getTotalAssets(),
+					drift.getTotalLiabilities());
+		}
+	}
+}
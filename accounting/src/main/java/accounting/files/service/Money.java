@@ -0,0 +1,37 @@
+package accounting.files.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Amounts are stored and aggregated as long minor units (cents) and only become BigDecimal at the API edge
+public final class Money {
+	public static final int SCALE = 2;
+
+	private Money() {
+	}
+
+	// Exact: an amount with more decimal places than the currency scale is rejected rather than rounded
+	public static long toMinorUnits(BigDecimal amount) {
+		if (amount == null) {
+			return 0L;
+		}
+		try {
+			return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Amount " + amount.toPlainString() + " is not representable in "
+					+ SCALE + " decimal places", e);
+		}
+	}
+
+	public static BigDecimal fromMinorUnits(long minorUnits) {
+		return BigDecimal.valueOf(minorUnits, SCALE);
+	}
+
+	public static Long toNullableMinorUnits(BigDecimal amount) {
+		return amount == null ? null : toMinorUnits(amount);
+	}
+
+	public static BigDecimal fromNullableMinorUnits(Long minorUnits) {
+		return minorUnits == null ? null : fromMinorUnits(minorUnits);
+	}
+}
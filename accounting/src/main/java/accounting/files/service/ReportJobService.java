@@ -0,0 +1,128 @@
+package accounting.files.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import accounting.files.controller.model.AccountingReportJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Runs report generation off the request thread. Each report type has at most one job per data
+// version: identical requests attach to the queued or running job, and a finished result is served
+// again until a committed write moves the data version on.
+@Service
+@Slf4j
+public class ReportJobService {
+
+	private final AccountingFilesService accountingFilesService;
+	private final ThreadPoolTaskExecutor executor;
+	private final long retentionMillis;
+
+	private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+	private final Map<ReportType, ReportJob> currentJobs = new EnumMap<>(ReportType.class);
+	private final AtomicLong dataVersion = new AtomicLong();
+
+	@Autowired
+	public ReportJobService(AccountingFilesService accountingFilesService,
+			@Value("${accounting.report-jobs.pool-size:2}") int poolSize,
+			@Value("${accounting.report-jobs.queue-capacity:20}") int queueCapacity,
+			@Value("${accounting.report-jobs.retention:1h}") Duration retention) {
+		this.accountingFilesService = accountingFilesService;
+		this.retentionMillis = retention.toMillis();
+		// Bounded on both threads and queue; a full queue rejects the submission instead of piling up work
+		this.executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("report-job-");
+		executor.initialize();
+	}
+
+	public synchronized AccountingReportJob submit(ReportType type) {
+		purgeExpiredJobs();
+		long version = dataVersion.get();
+		ReportJob currentJob = currentJobs.get(type);
+		if (currentJob != null && currentJob.version == version
+				&& !AccountingReportJob.FAILED.equals(currentJob.status)) {
+			return convertToReportJob(currentJob);
+		}
+
+		ReportJob job = new ReportJob(UUID.randomUUID().toString(), type, version);
+		executor.execute(() -> run(job));
+		jobs.put(job.jobId, job);
+		currentJobs.put(type, job);
+		return convertToReportJob(job);
+	}
+
+	public AccountingReportJob getJob(String jobId) {
+		ReportJob job = jobs.get(jobId);
+		return job != null ? convertToReportJob(job) : null;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onDataChanged(AccountingDataChangedEvent event) {
+		dataVersion.incrementAndGet();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private void run(ReportJob job) {
+		job.status = AccountingReportJob.RUNNING;
+		try {
+			job.result = switch (job.type) {
+			case BALANCE_SHEET -> accountingFilesService.generateBalanceSheet();
+			case INCOME_STATEMENT -> accountingFilesService.generateIncomeStatement();
+			case CASH_FLOW -> accountingFilesService.generateCashFlowStatement();
+			};
+			job.status = AccountingReportJob.SUCCEEDED;
+		} catch (RuntimeException e) {
+			log.warn("Report job {} ({}) failed", job.jobId, job.type, e);
+			job.error = e.getMessage();
+			job.status = AccountingReportJob.FAILED;
+		} finally {
+			job.completedAt = new Date();
+		}
+	}
+
+	private void purgeExpiredJobs() {
+		long cutoff = System.currentTimeMillis() - retentionMillis;
+		jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.getTime() < cutoff);
+		currentJobs.values().removeIf(job -> !jobs.containsKey(job.jobId));
+	}
+
+	private AccountingReportJob convertToReportJob(ReportJob job) {
+		return new AccountingReportJob(job.jobId, job.type.getPath(), job.status, job.submittedAt, job.completedAt,
+				job.result, job.error);
+	}
+
+	private static class ReportJob {
+		private final String jobId;
+		private final ReportType type;
+		private final long version;
+		private final Date submittedAt = new Date();
+		private volatile String status = AccountingReportJob.QUEUED;
+		private volatile String result;
+		private volatile String error;
+		private volatile Date completedAt;
+
+		ReportJob(String jobId, ReportType type, long version) {
+			this.jobId = jobId;
+			this.type = type;
+			this.version = version;
+		}
+	}
+}
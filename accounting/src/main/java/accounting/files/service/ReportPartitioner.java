@@ -0,0 +1,85 @@
+package accounting.files.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BinaryOperator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+// Splits a full scan over the invoice ID space into contiguous ranges and folds them on a
+// ForkJoin pool, each range in its own transaction and so on its own connection. The
+// caller keeps its connection, so parallelism must stay below the connection pool size. Ranges
+// read separate snapshots, which is fine for reports but not a consistent point-in-time view.
+@Component
+public class ReportPartitioner {
+
+	// Several ranges per worker so uneven ID density does not leave workers idle at the end
+	private static final int PARTITIONS_PER_WORKER = 4;
+
+	private final int parallelism;
+	private final ForkJoinPool pool;
+	private final TransactionTemplate readOnlyTransaction;
+	private final TransactionTemplate readWriteTransaction;
+
+	@Autowired
+	public ReportPartitioner(@Value("${accounting.reports.parallelism:1}") int parallelism,
+			PlatformTransactionManager transactionManager) {
+		this.parallelism = Math.max(1, parallelism);
+		this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		this.readWriteTransaction = new TransactionTemplate(transactionManager);
+	}
+
+	public boolean isParallel() {
+		return pool != null;
+	}
+
+	@FunctionalInterface
+	public interface Partition<T> {
+		T fold(long afterId, long lastId);
+	}
+
+	// Folds (afterId, lastId] and merges the partial results in ID order
+	public <T> T execute(long afterId, long lastId, Partition<T> partition, BinaryOperator<T> merge) {
+		long idCount = Math.subtractExact(lastId, afterId);
+		if (pool == null || idCount <= 1) {
+			return partition.fold(afterId, lastId);
+		}
+		long partitions = (long) parallelism * PARTITIONS_PER_WORKER;
+		long span = (idCount + partitions - 1) / partitions;
+		// Partitions follow the caller onto the replica or the primary
+		TransactionTemplate transaction = TransactionSynchronizationManager.isActualTransactionActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? readWriteTransaction
+						: readOnlyTransaction;
+		List<ForkJoinTask<T>> tasks = new ArrayList<>();
+		for (long from = afterId; from < lastId; from += span) {
+			long rangeAfterId = from;
+			long rangeLastId = Math.min(from + span, lastId);
+			tasks.add(pool.submit(
+					() -> transaction.execute(status -> partition.fold(rangeAfterId, rangeLastId))));
+		}
+		T result = null;
+		for (ForkJoinTask<T> task : tasks) {
+			T partial = task.join();
+			result = result == null ? partial : merge.apply(result, partial);
+		}
+		return result;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (pool != null) {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package accounting.files.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+public enum ReportPeriod {
+	DAY, MONTH, QUARTER, YEAR;
+
+	public LocalDate startOf(LocalDate date) {
+		return switch (this) {
+		case DAY -> date;
+		case MONTH -> date.withDayOfMonth(1);
+		case QUARTER -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+		case YEAR -> date.withDayOfYear(1);
+		};
+	}
+
+	public LocalDate next(LocalDate periodStart) {
+		return switch (this) {
+		case DAY -> periodStart.plusDays(1);
+		case MONTH -> periodStart.plusMonths(1);
+		case QUARTER -> periodStart.plusMonths(3);
+		case YEAR -> periodStart.plusYears(1);
+		};
+	}
+
+	// Invoice dates are DATETIME columns written in the JVM zone, so the calendar date is read back
+	// in that zone to match what the database sees
+	public static LocalDate toLocalDate(Date date) {
+		return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+
+	public static Date toDate(LocalDate date) {
+		return date == null ? null : Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+}
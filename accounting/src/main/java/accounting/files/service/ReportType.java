@@ -0,0 +1,24 @@
+package accounting.files.service;
+
+public enum ReportType {
+	BALANCE_SHEET("balance-sheet"), INCOME_STATEMENT("income-statement"), CASH_FLOW("cash-flow");
+
+	private final String path;
+
+	ReportType(String path) {
+		this.path = path;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public static ReportType fromPath(String path) {
+		for (ReportType type : values()) {
+			if (type.path.equalsIgnoreCase(path)) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("Unknown report type " + path);
+	}
+}
@@ -0,0 +1,74 @@
+package accounting.files.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import accounting.files.entity.Invoice;
+import accounting.files.entity.RevenueRollup;
+import accounting.files.entity.RevenueRollupId;
+
+// Revenue and invoice counts per rollup bucket. Taken before and after a write, the difference
+// touches only the buckets an invoice moved out of or into.
+public class RevenueRollupDelta {
+	public static final List<ReportPeriod> ROLLUP_PERIODS = List.of(ReportPeriod.DAY, ReportPeriod.MONTH);
+
+	private final Map<RevenueRollupId, long[]> buckets = new LinkedHashMap<>();
+
+	public static RevenueRollupDelta ofInvoices(Collection<Invoice> invoices) {
+		RevenueRollupDelta delta = new RevenueRollupDelta();
+		for (Invoice invoice : invoices) {
+			delta.addInvoice(invoice);
+		}
+		return delta;
+	}
+
+	// Undated invoices have no period and stay out of the rollups
+	public void addInvoice(Invoice invoice) {
+		addInvoice(invoice.getInvoiceDate(), invoice.getTotalAmountCents(),
+				invoice.getCustomer() != null ? invoice.getCustomer().getCustomerId() : null);
+	}
+
+	public void addInvoice(Date invoiceDate, long totalAmountCents, Long customerId) {
+		if (invoiceDate == null) {
+			return;
+		}
+		LocalDate localDate = ReportPeriod.toLocalDate(invoiceDate);
+		for (ReportPeriod period : ROLLUP_PERIODS) {
+			LocalDate periodStart = period.startOf(localDate);
+			add(new RevenueRollupId(period.name(), periodStart, RevenueRollup.ALL_CUSTOMERS), totalAmountCents, 1);
+			if (customerId != null) {
+				add(new RevenueRollupId(period.name(), periodStart, customerId), totalAmountCents, 1);
+			}
+		}
+	}
+
+	public RevenueRollupDelta subtract(RevenueRollupDelta other) {
+		RevenueRollupDelta delta = new RevenueRollupDelta();
+		buckets.forEach((id, totals) -> delta.add(id, totals[0], totals[1]));
+		other.buckets.forEach((id, totals) -> delta.add(id, Math.negateExact(totals[0]), -totals[1]));
+		return delta;
+	}
+
+	public void forEachChange(BucketChange change) {
+		buckets.forEach((id, totals) -> {
+			if (totals[0] != 0 || totals[1] != 0) {
+				change.apply(id, totals[0], totals[1]);
+			}
+		});
+	}
+
+	private void add(RevenueRollupId id, long revenue, long invoices) {
+		long[] totals = buckets.computeIfAbsent(id, key -> new long[2]);
+		totals[0] = Math.addExact(totals[0], revenue);
+		totals[1] += invoices;
+	}
+
+	@FunctionalInterface
+	public interface BucketChange {
+		void apply(RevenueRollupId id, long revenue, long invoices);
+	}
+}
@@ -0,0 +1,35 @@
+package accounting.files.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import accounting.files.dao.RevenueRollupDao;
+import accounting.files.dao.RevenueRollupTotal;
+
+@Service
+public class RevenueRollupService {
+
+	private final RevenueRollupDao revenueRollupDao;
+
+	@Autowired
+	public RevenueRollupService(RevenueRollupDao revenueRollupDao) {
+		this.revenueRollupDao = revenueRollupDao;
+	}
+
+	// Runs inside the invoice write so the rollups commit or roll back together with it
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void applyDelta(RevenueRollupDelta delta) {
+		delta.forEachChange((id, revenue, invoices) -> revenueRollupDao.applyDelta(id.getPeriodType(),
+				id.getPeriodStart(), id.getCustomerId(), revenue, invoices));
+	}
+
+	@Transactional(readOnly = true)
+	public List<RevenueRollupTotal> getRollups(ReportPeriod period, Long customerId, LocalDate from, LocalDate to) {
+		return revenueRollupDao.findRollups(period.name(), customerId, from, to);
+	}
+}
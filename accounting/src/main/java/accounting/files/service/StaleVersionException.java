@@ -0,0 +1,13 @@
+package accounting.files.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+// The client asked for a specific version and the row has moved on, so retrying cannot help
+public class StaleVersionException extends OptimisticLockingFailureException {
+
+	private static final long serialVersionUID = 1L;
+
+	public StaleVersionException(String entity, Object id, long currentVersion, long expectedVersion) {
+		super(entity + " " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+	}
+}
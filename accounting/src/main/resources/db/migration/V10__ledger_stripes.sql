@@ -0,0 +1,9 @@
+-- Spreads the running totals over 16 rows. Each write adds its delta to one stripe, so concurrent
+-- writers only queue when they land on the same row; reads sum the stripes. Row 1 keeps the
+-- totals it already holds and the new stripes start at zero.
+
+INSERT INTO ledger_totals (ledger_id, total_revenue_cents, total_expenses_cents, total_assets_cents,
+        total_liabilities_cents)
+VALUES (2, 0, 0, 0, 0), (3, 0, 0, 0, 0), (4, 0, 0, 0, 0), (5, 0, 0, 0, 0), (6, 0, 0, 0, 0), (7, 0, 0, 0, 0),
+    (8, 0, 0, 0, 0), (9, 0, 0, 0, 0), (10, 0, 0, 0, 0), (11, 0, 0, 0, 0), (12, 0, 0, 0, 0), (13, 0, 0, 0, 0),
+    (14, 0, 0, 0, 0), (15, 0, 0, 0, 0), (16, 0, 0, 0, 0);
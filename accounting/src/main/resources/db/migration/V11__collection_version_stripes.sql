@@ -0,0 +1,15 @@
+-- Spreads each listing counter over 16 rows, as V10 does for the ledger. A write bumps one stripe
+-- and a listing's version is the sum of its stripes. The existing row becomes stripe 0 and keeps
+-- its count, so versions keep growing from where they were.
+
+ALTER TABLE collection_versions ADD COLUMN stripe INT NOT NULL DEFAULT 0;
+ALTER TABLE collection_versions DROP PRIMARY KEY;
+ALTER TABLE collection_versions ADD PRIMARY KEY (collection, stripe);
+
+INSERT INTO collection_versions (collection, stripe)
+SELECT existing.collection, stripes.stripe
+FROM collection_versions existing
+CROSS JOIN (SELECT 1 AS stripe UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 UNION ALL SELECT 5
+    UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9 UNION ALL SELECT 10
+    UNION ALL SELECT 11 UNION ALL SELECT 12 UNION ALL SELECT 13 UNION ALL SELECT 14 UNION ALL SELECT 15) stripes
+WHERE existing.stripe = 0;
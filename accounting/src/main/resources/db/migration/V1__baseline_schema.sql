@@ -0,0 +1,49 @@
+-- Baseline of the schema previously produced by hibernate ddl-auto: update.
+-- Databases created that way are baselined at this version and skip this script.
+
+CREATE TABLE IF NOT EXISTS customers (
+    customer_id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (customer_id),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS products (
+    product_id BIGINT NOT NULL AUTO_INCREMENT,
+    category VARCHAR(255),
+    id BIGINT,
+    name VARCHAR(255),
+    price DECIMAL(38,2),
+    PRIMARY KEY (product_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS invoices (
+    invoice_id BIGINT NOT NULL AUTO_INCREMENT,
+    closed BIT NOT NULL,
+    invoice_date DATETIME(6),
+    total_amount FLOAT(53) NOT NULL,
+    customer_customer_id BIGINT,
+    PRIMARY KEY (invoice_id),
+    CONSTRAINT fk_invoices_customer FOREIGN KEY (customer_customer_id) REFERENCES customers (customer_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS invoice_item (
+    item_id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    invoice_invoice_id BIGINT,
+    PRIMARY KEY (item_id),
+    CONSTRAINT fk_invoice_item_invoice FOREIGN KEY (invoice_invoice_id) REFERENCES invoices (invoice_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS ledger_totals (
+    ledger_id BIGINT NOT NULL,
+    rebuilt_at DATETIME(6),
+    total_assets DECIMAL(19,2) NOT NULL,
+    total_expenses DECIMAL(19,2) NOT NULL,
+    total_liabilities DECIMAL(19,2) NOT NULL,
+    total_revenue DECIMAL(19,2) NOT NULL,
+    PRIMARY KEY (ledger_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,16 @@
+-- Invoices and line items take their IDs from pooled generator tables so inserts can be
+-- JDBC batched. Seed each generator past the highest ID already in use.
+
+CREATE TABLE invoice_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO invoice_seq (next_val)
+SELECT COALESCE(MAX(invoice_id), 0) + 1 FROM invoices;
+
+CREATE TABLE invoice_item_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO invoice_item_seq (next_val)
+SELECT COALESCE(MAX(item_id), 0) + 1 FROM invoice_item;
@@ -0,0 +1,32 @@
+-- Running report totals, kept current by every invoice, item and price write. V1 declares the
+-- table, but databases baselined at V1 from ddl-auto never ran it, so it is created here when
+-- missing. The single row is seeded from the existing data, so the application only ever reads
+-- and updates it. Amounts are still decimal at this version; V4 converts them to minor units.
+
+CREATE TABLE IF NOT EXISTS ledger_totals (
+    ledger_id BIGINT NOT NULL,
+    rebuilt_at DATETIME(6),
+    total_assets DECIMAL(19,2) NOT NULL,
+    total_expenses DECIMAL(19,2) NOT NULL,
+    total_liabilities DECIMAL(19,2) NOT NULL,
+    total_revenue DECIMAL(19,2) NOT NULL,
+    PRIMARY KEY (ledger_id)
+) ENGINE=InnoDB;
+
+-- Invoice totals are rounded to the cent per invoice, as V4 does when it converts them
+INSERT INTO ledger_totals (ledger_id, rebuilt_at, total_assets, total_expenses, total_liabilities, total_revenue)
+SELECT 1, CURRENT_TIMESTAMP(6),
+	COALESCE((SELECT SUM(item.quantity * product.price)
+		FROM invoice_item item
+		JOIN invoices invoice ON invoice.invoice_id = item.invoice_invoice_id
+		JOIN products product ON product.product_id = item.product_id
+		WHERE invoice.customer_customer_id IS NOT NULL), 0),
+	COALESCE((SELECT SUM(item.quantity * product.price)
+		FROM invoice_item item
+		JOIN invoices invoice ON invoice.invoice_id = item.invoice_invoice_id
+		JOIN products product ON product.product_id = item.product_id), 0),
+	COALESCE((SELECT CAST(SUM(ROUND(total_amount * 100)) AS DECIMAL(19,0)) / 100
+		FROM invoices WHERE ROUND(total_amount * 100) <= 0), 0),
+	COALESCE((SELECT CAST(SUM(ROUND(total_amount * 100)) AS DECIMAL(19,0)) / 100 FROM invoices), 0)
+FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM ledger_totals WHERE ledger_id = 1);
@@ -0,0 +1,3 @@
+-- Optimistic lock column for direct line item updates
+
+ALTER TABLE invoice_item ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,23 @@
+-- Money is stored as BIGINT minor units (cents). Existing amounts are converted in place; the
+-- float invoice totals are rounded to the nearest cent, prices and ledger totals already are exact.
+
+ALTER TABLE invoices ADD COLUMN total_amount_cents BIGINT NOT NULL DEFAULT 0;
+UPDATE invoices SET total_amount_cents = ROUND(total_amount * 100);
+ALTER TABLE invoices DROP COLUMN total_amount;
+
+ALTER TABLE products ADD COLUMN price_cents BIGINT;
+UPDATE products SET price_cents = ROUND(price * 100) WHERE price IS NOT NULL;
+ALTER TABLE products DROP COLUMN price;
+
+ALTER TABLE ledger_totals ADD COLUMN total_revenue_cents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE ledger_totals ADD COLUMN total_expenses_cents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE ledger_totals ADD COLUMN total_assets_cents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE ledger_totals ADD COLUMN total_liabilities_cents BIGINT NOT NULL DEFAULT 0;
+UPDATE ledger_totals SET total_revenue_cents = ROUND(total_revenue * 100),
+	total_expenses_cents = ROUND(total_expenses * 100),
+	total_assets_cents = ROUND(total_assets * 100),
+	total_liabilities_cents = ROUND(total_liabilities * 100);
+ALTER TABLE ledger_totals DROP COLUMN total_revenue;
+ALTER TABLE ledger_totals DROP COLUMN total_expenses;
+ALTER TABLE ledger_totals DROP COLUMN total_assets;
+ALTER TABLE ledger_totals DROP COLUMN total_liabilities;
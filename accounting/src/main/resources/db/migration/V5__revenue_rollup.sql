@@ -0,0 +1,28 @@
+-- Daily and monthly revenue per customer, kept current by every invoice write. Customer 0 holds
+-- the total across all invoices in the period.
+
+CREATE TABLE IF NOT EXISTS revenue_rollup (
+	period_type VARCHAR(8) NOT NULL,
+	period_start DATE NOT NULL,
+	customer_id BIGINT NOT NULL,
+	revenue_cents BIGINT NOT NULL DEFAULT 0,
+	invoice_count BIGINT NOT NULL DEFAULT 0,
+	PRIMARY KEY (period_type, period_start, customer_id)
+) ENGINE=InnoDB;
+
+INSERT INTO revenue_rollup (period_type, period_start, customer_id, revenue_cents, invoice_count)
+SELECT 'DAY', CAST(invoice_date AS DATE), 0, SUM(total_amount_cents), COUNT(*)
+FROM invoices WHERE invoice_date IS NOT NULL
+GROUP BY CAST(invoice_date AS DATE);
+
+INSERT INTO revenue_rollup (period_type, period_start, customer_id, revenue_cents, invoice_count)
+SELECT 'DAY', CAST(invoice_date AS DATE), customer_customer_id, SUM(total_amount_cents), COUNT(*)
+FROM invoices WHERE invoice_date IS NOT NULL AND customer_customer_id IS NOT NULL
+GROUP BY CAST(invoice_date AS DATE), customer_customer_id;
+
+INSERT INTO revenue_rollup (period_type, period_start, customer_id, revenue_cents, invoice_count)
+SELECT 'MONTH', period_start, customer_id, SUM(revenue_cents), SUM(invoice_count)
+FROM (SELECT CAST(CONCAT(YEAR(period_start), '-', LPAD(MONTH(period_start), 2, '0'), '-01') AS DATE)
+		AS period_start, customer_id, revenue_cents, invoice_count
+	FROM revenue_rollup WHERE period_type = 'DAY') daily
+GROUP BY period_start, customer_id;
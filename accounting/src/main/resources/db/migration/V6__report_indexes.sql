@@ -0,0 +1,21 @@
+-- Secondary indexes for the lookups and report aggregations the service runs. InnoDB appends the
+-- primary key to every secondary index, so (a, b) below also orders by the row id within (a, b).
+
+-- Cash-flow statement: range on invoice_date, ordered by invoice_date then invoice_id
+CREATE INDEX idx_invoices_date ON invoices (invoice_date);
+
+-- Customer invoice pages: customer_customer_id = ?, optional closed = ?, keyset on invoice_id.
+-- Also serves the customer foreign key and the per-customer assets grouping.
+CREATE INDEX idx_invoices_customer_closed ON invoices (customer_customer_id, closed);
+
+-- Items of an invoice, covering the product and quantity the report joins read, and serving
+-- the invoice foreign key
+CREATE INDEX idx_invoice_item_invoice_product ON invoice_item (invoice_invoice_id, product_id, quantity);
+
+-- Ledger revaluation on a price change sums quantities of one product across invoices
+CREATE INDEX idx_invoice_item_product ON invoice_item (product_id, invoice_invoice_id, quantity);
+
+-- Revenue report for one customer: the primary key leads with period_start, so this covers
+-- period_type and customer_id equality with a range on period_start
+CREATE INDEX idx_revenue_rollup_customer ON revenue_rollup (period_type, customer_id, period_start, revenue_cents,
+	invoice_count);
@@ -0,0 +1,11 @@
+-- Optimistic lock versions and modification times, which also back the ETag and Last-Modified
+-- headers. Existing rows start at version 0, last modified when the migration ran.
+
+ALTER TABLE invoices ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE invoices ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE customers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customers ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
@@ -0,0 +1,11 @@
+-- Customer invoice pages filter on customer_customer_id, optionally on closed, and page by
+-- invoice_id. (customer_customer_id, closed) only gives the keyset order when closed is fixed, so
+-- pages without the filter sorted every invoice of the customer. Each form now has an index whose
+-- trailing invoice_id serves both the range and the order; it is spelled out rather than left to
+-- the implicit primary key suffix.
+
+CREATE INDEX idx_invoices_customer_invoice ON invoices (customer_customer_id, invoice_id);
+CREATE INDEX idx_invoices_customer_closed_invoice ON invoices (customer_customer_id, closed, invoice_id);
+
+-- Dropped only after the replacements exist, as the customer foreign key needs an index
+DROP INDEX idx_invoices_customer_closed ON invoices;
@@ -0,0 +1,12 @@
+-- One change counter per listing. Every write to a collection bumps its row in the same
+-- transaction, so a listing's ETag and Last-Modified come from a primary key read rather than an
+-- aggregate over the whole table.
+
+CREATE TABLE IF NOT EXISTS collection_versions (
+    collection VARCHAR(32) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (collection)
+) ENGINE=InnoDB;
+
+INSERT INTO collection_versions (collection) VALUES ('invoices'), ('customers'), ('products');
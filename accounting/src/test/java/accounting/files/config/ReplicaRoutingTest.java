@@ -0,0 +1,153 @@
+package accounting.files.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import accounting.files.controller.model.AccountingInvoice;
+import accounting.files.controller.model.AccountingInvoiceItem;
+import accounting.files.controller.model.AccountingProduct;
+import accounting.files.entity.Product;
+import accounting.files.service.AccountingFilesService;
+import jakarta.persistence.EntityManagerFactory;
+
+// Two separate in-memory databases stand in for the primary and the replica. Nothing replicates
+// between them, so a marker invoice written only to the replica shows which one served a read.
+@SpringBootTest(properties = {
+		"accounting.datasource.replica.jdbc-url=" + ReplicaRoutingTest.REPLICA_URL,
+		"accounting.datasource.replica.username=sa",
+		"accounting.datasource.replica.max-lag=10s",
+		"accounting.datasource.replica.lag-query=select seconds_behind_source from replica_status",
+		"accounting.datasource.replica.lag-check-interval-ms=3600000" })
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	private static final long REPLICA_ONLY_INVOICE_ID = 900_001L;
+
+	@Autowired
+	private AccountingFilesService accountingFilesService;
+
+	@Autowired
+	private ReplicaLagMonitor replicaLagMonitor;
+
+	@Autowired
+	private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private JdbcTemplate replica;
+
+	@BeforeEach
+	void prepareReplica() {
+		DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+		Flyway.configure().dataSource(replicaDataSource).load().migrate();
+		replica = new JdbcTemplate(replicaDataSource);
+		replica.execute("create table if not exists replica_status (seconds_behind_source bigint)");
+		replica.update("delete from replica_status");
+		replica.update("insert into replica_status values (0)");
+		replica.update("merge into invoices (invoice_id, closed, total_amount_cents) key (invoice_id) values (?, false, 0)",
+				REPLICA_ONLY_INVOICE_ID);
+		replicaLagMonitor.check();
+	}
+
+	@Test
+	void readOnlyTransactionsUseReplica() {
+		assertThat(replicaRoutingDataSource.isReplicaAvailable()).isTrue();
+
+		assertThat(readMarkerPage()).extracting(AccountingInvoice::getInvoiceId)
+				.containsExactly(String.valueOf(REPLICA_ONLY_INVOICE_ID));
+	}
+
+	@Test
+	void writeTransactionsUsePrimary() {
+		AccountingInvoice invoice = new AccountingInvoice();
+		invoice.setTotalAmount(new BigDecimal("5.00"));
+
+		String invoiceId = accountingFilesService.createInvoice(invoice).getInvoiceId();
+
+		assertThat(countInvoices(new JdbcTemplate(primaryDataSource), invoiceId)).isEqualTo(1);
+		assertThat(countInvoices(replica, invoiceId)).isZero();
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimaryUntilCaughtUp() {
+		replica.update("update replica_status set seconds_behind_source = 60");
+		replicaLagMonitor.check();
+
+		assertThat(replicaRoutingDataSource.isReplicaAvailable()).isFalse();
+		assertThat(readMarkerPage()).isEmpty();
+
+		replica.update("update replica_status set seconds_behind_source = 5");
+		replicaLagMonitor.check();
+
+		assertThat(replicaRoutingDataSource.isReplicaAvailable()).isTrue();
+		assertThat(readMarkerPage()).hasSize(1);
+	}
+
+	@Test
+	void unreadableReplicaStatusFallsBackToPrimary() {
+		replica.execute("drop table replica_status");
+		replicaLagMonitor.check();
+
+		assertThat(replicaRoutingDataSource.isReplicaAvailable()).isFalse();
+		assertThat(readMarkerPage()).isEmpty();
+	}
+
+	@Test
+	void staleReplicaPriceNeitherFillsTheCacheNorReachesTheLedger() {
+		Long productId = accountingFilesService
+				.createProduct(new AccountingProduct(null, "Widget", "goods", new BigDecimal("2.50"))).getProductId();
+		// The replica has not yet applied the product's current price
+		replica.update("merge into products (product_id, name, category, price_cents) key (product_id) "
+				+ "values (?, 'Widget', 'goods', 100)", productId);
+		entityManagerFactory.getCache().evict(Product.class);
+
+		assertThat(accountingFilesService.getProductById(productId).getPrice()).isEqualByComparingTo("1.00");
+		assertThat(entityManagerFactory.getCache().contains(Product.class, productId)).isFalse();
+
+		AccountingInvoice invoice = new AccountingInvoice();
+		invoice.setTotalAmount(new BigDecimal("5.00"));
+		String invoiceId = accountingFilesService.createInvoice(invoice).getInvoiceId();
+		long expensesBefore = ledgerExpenses();
+		AccountingInvoiceItem item = new AccountingInvoiceItem();
+		item.setProductId(String.valueOf(productId));
+		item.setQuantity(2);
+		accountingFilesService.addInvoiceItem(invoiceId, item);
+
+		assertThat(ledgerExpenses() - expensesBefore).isEqualTo(500);
+	}
+
+	private long ledgerExpenses() {
+		return new JdbcTemplate(primaryDataSource).queryForObject("select sum(total_expenses_cents) from ledger_totals",
+				Long.class);
+	}
+
+	private List<AccountingInvoice> readMarkerPage() {
+		return accountingFilesService.getInvoicesPage(REPLICA_ONLY_INVOICE_ID - 1, 10);
+	}
+
+	private static long countInvoices(JdbcTemplate jdbcTemplate, String invoiceId) {
+		return jdbcTemplate.queryForObject("select count(*) from invoices where invoice_id = ?", Long.class,
+				Long.parseLong(invoiceId));
+	}
+}
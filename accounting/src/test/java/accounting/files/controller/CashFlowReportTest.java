@@ -0,0 +1,121 @@
+package accounting.files.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+// Invoices dated 1987, a year no other test writes to, so the ranges below see only these
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CashFlowReportTest {
+
+	private static final String BASE = "/accounting.files";
+
+	private static final String YEAR = "from=1987-01-01&to=1988-01-01";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	// January: 100.00 received, 5.00 of supplies, 10.00 of equipment and a 20.00 loan repayment on an
+	// invoice not paid yet. March: 50.00 received.
+	@BeforeAll
+	void createInvoices() throws Exception {
+		String supplies = idOf(BASE + "/products", "{\"name\":\"Paper\",\"category\":\"supplies\",\"price\":2.50}",
+				"$.productId");
+		String equipment = idOf(BASE + "/products", "{\"name\":\"Press\",\"category\":\"Equipment\",\"price\":10.00}",
+				"$.productId");
+		String loan = idOf(BASE + "/products", "{\"name\":\"Loan\",\"category\":\"loan\",\"price\":20.00}",
+				"$.productId");
+
+		String paid = invoice("1987-01-10", "100.00");
+		addItem(paid, supplies, 2);
+		addItem(paid, equipment, 1);
+		addItem(invoice("1987-01-20", "0.00"), loan, 1);
+		invoice("1987-03-05", "50.00");
+	}
+
+	@Test
+	void monthlyStatementBucketsEachActivity() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/cash-flow?period=month&" + YEAR)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.period").value("MONTH"))
+				.andExpect(jsonPath("$.periods.length()").value(2))
+				.andExpect(jsonPath("$.periods[0].periodStart").value("1987-01-01"))
+				.andExpect(jsonPath("$.periods[0].periodEnd").value("1987-02-01"))
+				.andExpect(jsonPath("$.periods[0].invoiceCount").value(2))
+				.andExpect(jsonPath("$.periods[0].operatingCashFlow").value(95.0))
+				.andExpect(jsonPath("$.periods[0].investingCashFlow").value(-10.0))
+				.andExpect(jsonPath("$.periods[0].financingCashFlow").value(-20.0))
+				.andExpect(jsonPath("$.periods[0].netCashFlow").value(65.0))
+				.andExpect(jsonPath("$.periods[1].periodStart").value("1987-03-01"))
+				.andExpect(jsonPath("$.periods[1].invoiceCount").value(1))
+				.andExpect(jsonPath("$.periods[1].netCashFlow").value(50.0))
+				.andExpect(jsonPath("$.operatingCashFlow").value(145.0))
+				.andExpect(jsonPath("$.investingCashFlow").value(-10.0))
+				.andExpect(jsonPath("$.financingCashFlow").value(-20.0))
+				.andExpect(jsonPath("$.netCashFlow").value(115.0));
+	}
+
+	@Test
+	void quarterlyStatementFoldsTheMonths() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/cash-flow?period=QUARTER&" + YEAR)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.periods.length()").value(1))
+				.andExpect(jsonPath("$.periods[0].periodStart").value("1987-01-01"))
+				.andExpect(jsonPath("$.periods[0].periodEnd").value("1987-04-01"))
+				.andExpect(jsonPath("$.periods[0].invoiceCount").value(3))
+				.andExpect(jsonPath("$.netCashFlow").value(115.0));
+	}
+
+	@Test
+	void rangeEndIsExclusive() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/cash-flow?from=1987-01-01&to=1987-03-05")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.from").value("1987-01-01"))
+				.andExpect(jsonPath("$.to").value("1987-03-05"))
+				.andExpect(jsonPath("$.periods.length()").value(1))
+				.andExpect(jsonPath("$.netCashFlow").value(65.0));
+	}
+
+	@Test
+	void emptyRangeHasNoPeriods() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/cash-flow?from=1970-01-01&to=1971-01-01")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.periods.length()").value(0))
+				.andExpect(jsonPath("$.netCashFlow").value(0.0));
+	}
+
+	@Test
+	void unknownPeriodIsRejected() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/cash-flow?period=fortnight")).andExpect(status().isBadRequest());
+	}
+
+	private String invoice(String date, String totalAmount) throws Exception {
+		return idOf(BASE + "/invoices",
+				"{\"invoiceDate\":\"" + date + "T12:00:00.000+00:00\",\"totalAmount\":" + totalAmount + "}",
+				"$.invoiceId");
+	}
+
+	private void addItem(String invoiceId, String productId, int quantity) throws Exception {
+		mockMvc.perform(post(BASE + "/invoices/" + invoiceId + "/items").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"productId\":\"" + productId + "\",\"quantity\":" + quantity + "}"))
+				.andExpect(status().isCreated());
+	}
+
+	private String idOf(String uri, String body, String idPath) throws Exception {
+		String response = mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		return String.valueOf((Object) JsonPath.read(response, idPath));
+	}
+}
@@ -0,0 +1,130 @@
+package accounting.files.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestTest {
+
+	private static final String BASE = "/accounting.files";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private String invoiceId;
+
+	private String productId;
+
+	private String customerId;
+
+	private String email;
+
+	@BeforeEach
+	void createData() throws Exception {
+		email = UUID.randomUUID() + "@example.com";
+		customerId = idOf(post(BASE + "/customers"), "{\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\""
+				+ email + "\"}", "$.customerId");
+		productId = idOf(post(BASE + "/products"), "{\"name\":\"Widget\",\"price\":2.50}", "$.productId");
+		invoiceId = idOf(post(BASE + "/invoices"), "{\"totalAmount\":10.00}", "$.invoiceId");
+	}
+
+	@Test
+	void unchangedListingAnswers304FromOneStatement() throws Exception {
+		String etag = etagOf(BASE + "/invoices?afterId=0&limit=5");
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		String body = mockMvc.perform(get(BASE + "/invoices?afterId=0&limit=5").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(body).isEmpty();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void keysetPagesShareTheListingEtag() throws Exception {
+		String etag = etagOf(BASE + "/invoices?afterId=0&limit=5");
+
+		mockMvc.perform(get(BASE + "/invoices?afterId=" + invoiceId + "&limit=5").header(HttpHeaders.IF_NONE_MATCH,
+				etag)).andExpect(status().isNotModified());
+	}
+
+	@Test
+	void itemWriteChangesInvoiceListingEtag() throws Exception {
+		String etag = etagOf(BASE + "/invoices");
+
+		mockMvc.perform(post(BASE + "/invoices/" + invoiceId + "/items").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"productId\":\"" + productId + "\",\"quantity\":2}")).andExpect(status().isCreated());
+
+		assertThat(etagOf(BASE + "/invoices")).isNotEqualTo(etag);
+		mockMvc.perform(get(BASE + "/invoices").header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk());
+	}
+
+	@Test
+	void customerUpdateChangesCustomerAndInvoiceListingEtags() throws Exception {
+		String customersEtag = etagOf(BASE + "/customers");
+		String invoicesEtag = etagOf(BASE + "/invoices");
+
+		mockMvc.perform(put(BASE + "/customers/" + customerId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"firstName\":\"Renamed\",\"lastName\":\"Last\",\"email\":\"" + email + "\"}"))
+				.andExpect(status().isOk());
+
+		assertThat(etagOf(BASE + "/customers")).isNotEqualTo(customersEtag);
+		assertThat(etagOf(BASE + "/invoices")).isNotEqualTo(invoicesEtag);
+	}
+
+	@Test
+	void productWriteLeavesInvoiceListingEtag() throws Exception {
+		String productsEtag = etagOf(BASE + "/products");
+		String invoicesEtag = etagOf(BASE + "/invoices");
+
+		mockMvc.perform(put(BASE + "/products/" + productId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Widget\",\"price\":3.00}")).andExpect(status().isOk());
+
+		assertThat(etagOf(BASE + "/products")).isNotEqualTo(productsEtag);
+		assertThat(etagOf(BASE + "/invoices")).isEqualTo(invoicesEtag);
+	}
+
+	private String etagOf(String uri) throws Exception {
+		String etag = mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse()
+				.getHeader(HttpHeaders.ETAG);
+		assertThat(etag).startsWith("W/\"");
+		return etag;
+	}
+
+	private String idOf(org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder request,
+			String content, String idPath) throws Exception {
+		String body = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(content))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		return String.valueOf((Object) JsonPath.read(body, idPath));
+	}
+}
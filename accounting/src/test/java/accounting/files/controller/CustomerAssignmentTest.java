@@ -0,0 +1,155 @@
+package accounting.files.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+// Per-customer assets come from one grouped query; a bulk reassignment reports an outcome per invoice
+// ID and moves the assets, the ledger and the revenue rollups with it
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CustomerAssignmentTest {
+
+	private static final String BASE = "/accounting.files";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private String productId;
+
+	private String first;
+
+	private String second;
+
+	private String firstSmall;
+
+	private String firstLarge;
+
+	private String secondOnly;
+
+	// Other tests write around the ledger, so it is rebuilt and only this test's writes are verified
+	@BeforeEach
+	void rebuildLedger() throws Exception {
+		mockMvc.perform(post(BASE + "/reports/ledger/rebuild")).andExpect(status().isOk());
+	}
+
+	// The first customer holds 5.00 and 10.00 of line items, the second 2.50
+	@BeforeEach
+	void createInvoices() throws Exception {
+		productId = idOf(BASE + "/products", "{\"name\":\"Widget\",\"price\":2.50}", "$.productId");
+		first = idOf(BASE + "/customers", customerJson(), "$.customerId");
+		second = idOf(BASE + "/customers", customerJson(), "$.customerId");
+		firstSmall = invoice(first, 2);
+		firstLarge = invoice(first, 4);
+		secondOnly = invoice(second, 1);
+	}
+
+	@Test
+	void assetsAreGroupedPerCustomer() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/customer-assets?limit=2&afterId=" + (Long.parseLong(first) - 1)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].customerId").value(Long.parseLong(first)))
+				.andExpect(jsonPath("$[0].invoiceCount").value(2))
+				.andExpect(jsonPath("$[0].assets").value(15.0))
+				.andExpect(jsonPath("$[1].customerId").value(Long.parseLong(second)))
+				.andExpect(jsonPath("$[1].invoiceCount").value(1))
+				.andExpect(jsonPath("$[1].assets").value(2.5));
+
+		mockMvc.perform(get(BASE + "/reports/customer-assets?limit=1&afterId=" + first))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].customerId").value(Long.parseLong(second)));
+	}
+
+	@Test
+	void bulkAssignmentReportsEachInvoice() throws Exception {
+		mockMvc.perform(post(BASE + "/customers/" + second + "/invoices").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + firstSmall + "," + secondOnly + "," + Long.MAX_VALUE + "," + firstSmall + ",null]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.customerId").value(Long.parseLong(second)))
+				.andExpect(jsonPath("$.requested").value(3))
+				.andExpect(jsonPath("$.assigned").value(1))
+				.andExpect(jsonPath("$.records.length()").value(3))
+				.andExpect(jsonPath("$.records[0].invoiceId").value(firstSmall))
+				.andExpect(jsonPath("$.records[0].status").value("ASSIGNED"))
+				.andExpect(jsonPath("$.records[1].invoiceId").value(secondOnly))
+				.andExpect(jsonPath("$.records[1].status").value("UNCHANGED"))
+				.andExpect(jsonPath("$.records[2].status").value("NOT_FOUND"))
+				.andExpect(jsonPath("$.records[2].message").value("Unknown invoice " + Long.MAX_VALUE));
+
+		mockMvc.perform(get(BASE + "/invoices/" + firstSmall)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.customer.customerId").value(Long.parseLong(second)));
+		mockMvc.perform(get(BASE + "/reports/customer-assets?limit=2&afterId=" + (Long.parseLong(first) - 1)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].invoiceCount").value(1))
+				.andExpect(jsonPath("$[0].assets").value(10.0))
+				.andExpect(jsonPath("$[1].invoiceCount").value(2))
+				.andExpect(jsonPath("$[1].assets").value(7.5));
+		mockMvc.perform(get(BASE + "/reports/revenue?from=2022-06-01&to=2022-07-01&customerId=" + second))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.invoiceCount").value(2))
+				.andExpect(jsonPath("$.totalRevenue").value(20.0));
+		mockMvc.perform(get(BASE + "/reports/ledger/verify")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.consistent").value(true));
+	}
+
+	@Test
+	void invoiceWithoutCustomerIsAssigned() throws Exception {
+		String unowned = idOf(BASE + "/invoices", "{\"totalAmount\":3.00}", "$.invoiceId");
+
+		mockMvc.perform(post(BASE + "/customers/" + first + "/invoices").contentType(MediaType.APPLICATION_JSON)
+				.content("[" + unowned + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.assigned").value(1))
+				.andExpect(jsonPath("$.records[0].status").value("ASSIGNED"));
+		mockMvc.perform(get(BASE + "/reports/ledger/verify")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.consistent").value(true));
+	}
+
+	@Test
+	void unknownCustomerIsNotFound() throws Exception {
+		mockMvc.perform(post(BASE + "/customers/" + Long.MAX_VALUE + "/invoices")
+				.contentType(MediaType.APPLICATION_JSON).content("[" + firstSmall + "]"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(get(BASE + "/invoices/" + firstSmall)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.customer.customerId").value(Long.parseLong(first)));
+	}
+
+	private String invoice(String customerId, int quantity) throws Exception {
+		String invoiceId = idOf(BASE + "/invoices",
+				"{\"invoiceDate\":\"2022-06-15T12:00:00.000+00:00\",\"totalAmount\":10.00}", "$.invoiceId");
+		mockMvc.perform(patch(BASE + "/invoices/" + invoiceId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"customerId\":" + customerId + "}")).andExpect(status().isOk());
+		mockMvc.perform(post(BASE + "/invoices/" + invoiceId + "/items").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"productId\":\"" + productId + "\",\"quantity\":" + quantity + "}"))
+				.andExpect(status().isCreated());
+		return invoiceId;
+	}
+
+	private static String customerJson() {
+		return "{\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\"" + UUID.randomUUID() + "@example.com\"}";
+	}
+
+	private String idOf(String uri, String body, String idPath) throws Exception {
+		String response = mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		return String.valueOf((Object) JsonPath.read(response, idPath));
+	}
+}
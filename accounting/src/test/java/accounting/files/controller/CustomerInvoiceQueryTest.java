@@ -0,0 +1,111 @@
+package accounting.files.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+// A customer's invoices are paged by invoice ID and filtered by date and status in the query itself
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CustomerInvoiceQueryTest {
+
+	private static final String BASE = "/accounting.files";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private String customerId;
+
+	private String january;
+
+	private String februaryClosed;
+
+	private String march;
+
+	private String marchClosed;
+
+	@BeforeEach
+	void createInvoices() throws Exception {
+		customerId = createCustomer();
+		january = invoice(customerId, "2023-01-10", false);
+		februaryClosed = invoice(customerId, "2023-02-10", true);
+		march = invoice(customerId, "2023-03-10", false);
+		marchClosed = invoice(customerId, "2023-03-20", true);
+		invoice(createCustomer(), "2023-02-15", true);
+	}
+
+	@Test
+	void unpagedListingReturnsEveryInvoiceInIdOrder() throws Exception {
+		String body = invoicesFor("");
+
+		assertThat(invoiceIds(body)).containsExactly(january, februaryClosed, march, marchClosed);
+		assertThat(JsonPath.<List<Object>>read(body, "$[*].customer.customerId"))
+				.allMatch(id -> String.valueOf(id).equals(customerId));
+	}
+
+	@Test
+	void pagesFollowTheLastInvoiceId() throws Exception {
+		assertThat(invoiceIds(invoicesFor("?limit=2"))).containsExactly(january, februaryClosed);
+		assertThat(invoiceIds(invoicesFor("?limit=2&afterId=" + februaryClosed))).containsExactly(march, marchClosed);
+		assertThat(invoiceIds(invoicesFor("?limit=2&afterId=" + marchClosed))).isEmpty();
+	}
+
+	@Test
+	void statusAndDateFiltersNarrowThePage() throws Exception {
+		assertThat(invoiceIds(invoicesFor("?closed=true"))).containsExactly(februaryClosed, marchClosed);
+		assertThat(invoiceIds(invoicesFor("?closed=false"))).containsExactly(january, march);
+		assertThat(invoiceIds(invoicesFor("?from=2023-02-01&to=2023-03-15"))).containsExactly(februaryClosed, march);
+		assertThat(invoiceIds(invoicesFor("?from=2023-03-01&closed=false&limit=10"))).containsExactly(march);
+		assertThat(invoiceIds(invoicesFor("?to=2023-01-10"))).isEmpty();
+	}
+
+	@Test
+	void unknownCustomerIsNotFound() throws Exception {
+		mockMvc.perform(get(BASE + "/customers/" + Long.MAX_VALUE + "/invoices")).andExpect(status().isNotFound());
+	}
+
+	private String invoicesFor(String query) throws Exception {
+		return mockMvc.perform(get(BASE + "/customers/" + customerId + "/invoices" + query))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+	}
+
+	private static List<String> invoiceIds(String body) {
+		return JsonPath.<List<Object>>read(body, "$[*].invoiceId").stream().map(String::valueOf).toList();
+	}
+
+	private String createCustomer() throws Exception {
+		return idOf(BASE + "/customers", "{\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\""
+				+ UUID.randomUUID() + "@example.com\"}", "$.customerId");
+	}
+
+	private String invoice(String customerId, String date, boolean closed) throws Exception {
+		String invoiceId = idOf(BASE + "/invoices", "{\"invoiceDate\":\"" + date
+				+ "T12:00:00.000+00:00\",\"totalAmount\":10.00,\"closed\":" + closed + "}", "$.invoiceId");
+		mockMvc.perform(patch(BASE + "/invoices/" + invoiceId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"customerId\":" + customerId + "}")).andExpect(status().isOk());
+		return invoiceId;
+	}
+
+	private String idOf(String uri, String body, String idPath) throws Exception {
+		String response = mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		return String.valueOf((Object) JsonPath.read(response, idPath));
+	}
+}
@@ -0,0 +1,135 @@
+package accounting.files.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+import accounting.files.controller.model.AccountingCustomer;
+import accounting.files.controller.model.AccountingProduct;
+import accounting.files.service.AccountingFilesService;
+
+// Bulk import reports an outcome per record; a bad record fails alone and the rest are written
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InvoiceImportTest {
+
+	private static final String BASE = "/accounting.files";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AccountingFilesService accountingFilesService;
+
+	private Long customerId;
+
+	private Long productId;
+
+	// Other tests write around the ledger, so it is rebuilt and only this test's writes are verified
+	@BeforeEach
+	void rebuildLedger() throws Exception {
+		mockMvc.perform(post(BASE + "/reports/ledger/rebuild")).andExpect(status().isOk());
+	}
+
+	@BeforeEach
+	void createReferences() {
+		customerId = accountingFilesService
+				.createCustomer(new AccountingCustomer(null, "First", "Last", UUID.randomUUID() + "@example.com"))
+				.getCustomerId();
+		productId = accountingFilesService
+				.createProduct(new AccountingProduct(null, "Widget", "goods", new BigDecimal("2.50"))).getProductId();
+	}
+
+	@Test
+	void jsonImportReportsEachRecord() throws Exception {
+		String body = "[" + record(customerId, item(productId, 2), item(productId, 3)) + ","
+				+ record(customerId, "{\"productId\":\"abc\",\"quantity\":1}") + ","
+				+ record(Long.MAX_VALUE, item(productId, 1)) + ","
+				+ record(null, item(productId, 0)) + ","
+				+ "{\"items\":[" + item(productId, 1) + "]}]";
+
+		String result = mockMvc.perform(post(BASE + "/invoices/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content(body)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(5))
+				.andExpect(jsonPath("$.imported").value(1))
+				.andExpect(jsonPath("$.failed").value(4))
+				.andExpect(jsonPath("$.rowsWritten").value(3))
+				.andExpect(jsonPath("$.records[0].status").value("IMPORTED"))
+				.andExpect(jsonPath("$.records[1].message").value("Invalid product ID abc"))
+				.andExpect(jsonPath("$.records[2].message").value("Unknown customer " + Long.MAX_VALUE))
+				.andExpect(jsonPath("$.records[3].message").value("Quantity must be positive for product " + productId))
+				.andExpect(jsonPath("$.records[4].message").value("Record has no invoice"))
+				.andExpect(jsonPath("$.records[4].index").value(4))
+				.andReturn().getResponse().getContentAsString();
+
+		String invoiceId = JsonPath.read(result, "$.records[0].invoiceId");
+		mockMvc.perform(get(BASE + "/invoices/" + invoiceId)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.customer.customerId").value(customerId))
+				.andExpect(jsonPath("$.items.length()").value(2));
+		assertLedgerConsistent();
+	}
+
+	@Test
+	void ndjsonImportReportsEachLine() throws Exception {
+		String body = record(null, item(productId, 4)) + "\n"
+				+ record(null, "{\"quantity\":1}") + "\n"
+				+ record(null, item(Long.MAX_VALUE, 1)) + "\n";
+
+		String result = mockMvc.perform(post(BASE + "/invoices/bulk").contentType(MediaType.APPLICATION_NDJSON)
+				.content(body)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(3))
+				.andExpect(jsonPath("$.imported").value(1))
+				.andExpect(jsonPath("$.failed").value(2))
+				.andExpect(jsonPath("$.records[0].status").value("IMPORTED"))
+				.andExpect(jsonPath("$.records[1].status").value("FAILED"))
+				.andExpect(jsonPath("$.records[1].message").value("Line item has no product"))
+				.andExpect(jsonPath("$.records[2].message").value("Unknown or unpriced product " + Long.MAX_VALUE))
+				.andReturn().getResponse().getContentAsString();
+
+		String invoiceId = JsonPath.read(result, "$.records[0].invoiceId");
+		String items = mockMvc.perform(get(BASE + "/invoices/" + invoiceId + "/items")).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat((Integer) JsonPath.read(items, "$[0].quantity")).isEqualTo(4);
+		assertLedgerConsistent();
+	}
+
+	@Test
+	void emptyBatchImportsNothing() throws Exception {
+		mockMvc.perform(post(BASE + "/invoices/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(0))
+				.andExpect(jsonPath("$.records.length()").value(0));
+	}
+
+	private void assertLedgerConsistent() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/ledger/verify")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.consistent").value(true));
+	}
+
+	private static String record(Long customerId, String... items) {
+		String customer = customerId == null ? "" : "\"customer\":{\"customerId\":" + customerId + "},";
+		return "{\"invoice\":{" + customer + "\"invoiceDate\":\"2024-03-01T00:00:00.000+00:00\",\"totalAmount\":10.00},"
+				+ "\"items\":[" + String.join(",", items) + "]}";
+	}
+
+	private static String item(Long productId, int quantity) {
+		return "{\"productId\":\"" + productId + "\",\"quantity\":" + quantity + "}";
+	}
+}
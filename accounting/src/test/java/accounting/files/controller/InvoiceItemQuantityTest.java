@@ -0,0 +1,92 @@
+package accounting.files.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InvoiceItemQuantityTest {
+
+	private static final String BASE = "/accounting.files";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private String invoiceId;
+
+	private String productId;
+
+	private String itemId;
+
+	@BeforeEach
+	void createItem() throws Exception {
+		productId = idOf(BASE + "/products", "{\"name\":\"Widget\",\"price\":2.50}", "$.productId");
+		invoiceId = idOf(BASE + "/invoices", "{\"totalAmount\":10.00}", "$.invoiceId");
+		mockMvc.perform(post(BASE + "/invoices/" + invoiceId + "/items").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"productId\":\"" + productId + "\",\"quantity\":2}")).andExpect(status().isCreated());
+		String items = mockMvc.perform(get(BASE + "/invoices/" + invoiceId + "/items")).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		itemId = String.valueOf((Object) JsonPath.read(items, "$[0].itemId"));
+	}
+
+	@Test
+	void negativeQuantityUpdateIsRejected() throws Exception {
+		mockMvc.perform(put(BASE + "/invoices/" + invoiceId + "/items/" + itemId + "/updateQuantity?quantity=-4"))
+				.andExpect(status().isBadRequest());
+
+		assertQuantity(2);
+	}
+
+	@Test
+	void zeroQuantityUpdateIsRejected() throws Exception {
+		mockMvc.perform(put(BASE + "/invoices/" + invoiceId + "/items/" + itemId + "?quantity=0"))
+				.andExpect(status().isBadRequest());
+
+		assertQuantity(2);
+	}
+
+	@Test
+	void positiveQuantityUpdateIsApplied() throws Exception {
+		mockMvc.perform(put(BASE + "/invoices/" + invoiceId + "/items/" + itemId + "/updateQuantity?quantity=5"))
+				.andExpect(status().isOk());
+
+		assertQuantity(5);
+	}
+
+	@Test
+	void nonPositiveNewItemIsRejected() throws Exception {
+		mockMvc.perform(post(BASE + "/invoices/" + invoiceId + "/items").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"productId\":\"" + productId + "\",\"quantity\":-1}")).andExpect(status().isBadRequest());
+
+		mockMvc.perform(get(BASE + "/invoices/" + invoiceId + "/items")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1));
+	}
+
+	private void assertQuantity(int expected) throws Exception {
+		String item = mockMvc.perform(get(BASE + "/invoices/" + invoiceId + "/items/" + itemId))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		assertThat((Integer) JsonPath.read(item, "$.quantity")).isEqualTo(expected);
+	}
+
+	private String idOf(String uri, String body, String idPath) throws Exception {
+		String response = mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		return String.valueOf((Object) JsonPath.read(response, idPath));
+	}
+}
@@ -0,0 +1,154 @@
+package accounting.files.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import accounting.files.dao.InvoiceDao;
+import accounting.files.entity.Invoice;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InvoicePatchTest {
+
+	private static final String BASE = "/accounting.files";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@SpyBean
+	private InvoiceDao invoiceDao;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Invoice invoice;
+
+	// Number of upcoming invoice flushes that lose to a concurrent writer
+	private final AtomicInteger conflictsToInject = new AtomicInteger();
+
+	@BeforeEach
+	void createInvoice() {
+		invoice = new Invoice();
+		invoice.setInvoiceDate(new Date());
+		invoice.setTotalAmountCents(1000);
+		invoice = invoiceDao.save(invoice);
+
+		// Another transaction commits a change to the invoice after the patch has read it and before
+		// it flushes, which is exactly the race the version check is there for. Spies on repository
+		// proxies reach the real repository through their default answer.
+		Answer<?> saveAndFlush = Mockito.mockingDetails(invoiceDao).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(invocation -> {
+			if (conflictsToInject.getAndDecrement() > 0) {
+				commitConcurrentClose();
+			}
+			return saveAndFlush.answer(invocation);
+		}).when(invoiceDao).saveAndFlush(any());
+	}
+
+	@Test
+	void staleVersionIsRejectedWith409() throws Exception {
+		double stale = conflicts("stale");
+
+		patchInvoice("{\"version\":" + (invoice.getVersion() + 1) + ",\"totalAmount\":20.00}")
+				.andExpect(status().isConflict());
+
+		assertThat(conflicts("stale")).isEqualTo(stale + 1);
+		assertThat(currentTotalCents()).isEqualTo(1000);
+	}
+
+	@Test
+	void lostOptimisticLockIsRetriedOnFreshState() throws Exception {
+		double retried = conflicts("retried");
+		conflictsToInject.set(1);
+
+		patchInvoice("{\"totalAmount\":20.00}")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalAmount").value(20.00))
+				// The retry re-read the invoice, so the concurrent close survives the patch
+				.andExpect(jsonPath("$.closed").value(true))
+				.andExpect(jsonPath("$.version").value(invoice.getVersion() + 2));
+
+		assertThat(conflicts("retried")).isEqualTo(retried + 1);
+	}
+
+	@Test
+	void pinnedVersionIsNotRetriedAfterLostOptimisticLock() throws Exception {
+		double retried = conflicts("retried");
+		conflictsToInject.set(1);
+
+		patchInvoice("{\"version\":" + invoice.getVersion() + ",\"totalAmount\":20.00}")
+				.andExpect(status().isConflict());
+
+		// The retry re-read the invoice and found the version the client pinned was gone
+		assertThat(conflicts("retried")).isEqualTo(retried + 1);
+		assertThat(currentTotalCents()).isEqualTo(1000);
+	}
+
+	@Test
+	void persistentConflictGivesUpWith409() throws Exception {
+		double exhausted = conflicts("exhausted");
+		conflictsToInject.set(Integer.MAX_VALUE);
+
+		patchInvoice("{\"totalAmount\":20.00}").andExpect(status().isConflict());
+
+		assertThat(conflicts("exhausted")).isEqualTo(exhausted + 1);
+		assertThat(currentTotalCents()).isEqualTo(1000);
+	}
+
+	private ResultActions patchInvoice(String content) throws Exception {
+		return mockMvc.perform(patch(BASE + "/invoices/" + invoice.getInvoiceId())
+				.contentType(MediaType.APPLICATION_JSON).content(content));
+	}
+
+	private void commitConcurrentClose() {
+		TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+		concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		concurrent.executeWithoutResult(status -> jdbcTemplate.update(
+				"update invoices set closed = true, version = version + 1 where invoice_id = ?",
+				invoice.getInvoiceId()));
+	}
+
+	private long currentTotalCents() {
+		return jdbcTemplate.queryForObject("select total_amount_cents from invoices where invoice_id = ?", Long.class,
+				invoice.getInvoiceId());
+	}
+
+	private double conflicts(String outcome) {
+		Counter counter = meterRegistry.find("accounting.conflicts").tag("method", "patchInvoice")
+				.tag("outcome", outcome).counter();
+		return counter != null ? counter.count() : 0;
+	}
+}
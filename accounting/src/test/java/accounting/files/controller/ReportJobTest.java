@@ -0,0 +1,104 @@
+package accounting.files.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+import accounting.files.controller.model.AccountingReportJob;
+
+// Reports run off the request thread; a job is shared by identical requests until a write commits
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReportJobTest {
+
+	private static final String BASE = "/accounting.files";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void submittedJobIsPolledToItsResult() throws Exception {
+		String response = mockMvc.perform(post(BASE + "/reports/balance-sheet")).andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.type").value("balance-sheet"))
+				.andExpect(jsonPath("$.submittedAt").exists())
+				.andReturn().getResponse().getContentAsString();
+		String jobId = JsonPath.read(response, "$.jobId");
+
+		String job = awaitCompletion(jobId);
+		assertThat((String) JsonPath.read(job, "$.status")).isEqualTo(AccountingReportJob.SUCCEEDED);
+		assertThat((String) JsonPath.read(job, "$.result")).startsWith("Balance Sheet\n").contains("Assets: ");
+		assertThat((Object) JsonPath.read(job, "$.completedAt")).isNotNull();
+	}
+
+	@Test
+	void locationPointsAtTheJob() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(post(BASE + "/reports/income-statement"))
+				.andExpect(status().isAccepted()).andReturn().getResponse();
+		String jobId = JsonPath.read(response.getContentAsString(), "$.jobId");
+
+		assertThat(response.getHeader("Location")).endsWith("/accounting.files/reports/jobs/" + jobId);
+	}
+
+	@Test
+	void identicalSubmissionsShareOneJobUntilAWriteCommits() throws Exception {
+		String first = submit("cash-flow");
+		awaitCompletion(first);
+		assertThat(submit("cash-flow")).isEqualTo(first);
+		mockMvc.perform(get(BASE + "/reports/jobs/" + first)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value(AccountingReportJob.SUCCEEDED));
+
+		mockMvc.perform(post(BASE + "/invoices").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"totalAmount\":1.00}")).andExpect(status().isCreated());
+
+		String second = submit("cash-flow");
+		assertThat(second).isNotEqualTo(first);
+		assertThat((String) JsonPath.read(awaitCompletion(second), "$.status"))
+				.isEqualTo(AccountingReportJob.SUCCEEDED);
+	}
+
+	@Test
+	void unknownJobIsNotFound() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/jobs/no-such-job")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void unknownReportTypeIsRejected() throws Exception {
+		mockMvc.perform(post(BASE + "/reports/trial-balance")).andExpect(status().isBadRequest());
+	}
+
+	private String submit(String type) throws Exception {
+		String response = mockMvc.perform(post(BASE + "/reports/" + type)).andExpect(status().isAccepted())
+				.andReturn().getResponse().getContentAsString();
+		return JsonPath.read(response, "$.jobId");
+	}
+
+	private String awaitCompletion(String jobId) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (true) {
+			String job = mockMvc.perform(get(BASE + "/reports/jobs/" + jobId)).andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			String status = JsonPath.read(job, "$.status");
+			if (AccountingReportJob.SUCCEEDED.equals(status) || AccountingReportJob.FAILED.equals(status)) {
+				return job;
+			}
+			assertThat(System.nanoTime()).as("job %s still %s", jobId, status).isLessThan(deadline);
+			Thread.sleep(20);
+		}
+	}
+}
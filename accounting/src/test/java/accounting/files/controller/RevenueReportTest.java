@@ -0,0 +1,133 @@
+package accounting.files.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+// Revenue is read from the rollup rows, which every invoice write keeps current. The invoices are
+// dated 1984 and 1985, years no other test writes to.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RevenueReportTest {
+
+	private static final String BASE = "/accounting.files";
+
+	private static final String YEAR = "from=1985-01-01&to=1986-01-01";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private String customerId;
+
+	// February: 10.00 from the customer and 5.00 from no customer. April: 7.50 from the customer.
+	@BeforeAll
+	void createInvoices() throws Exception {
+		customerId = idOf(BASE + "/customers", "{\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\""
+				+ UUID.randomUUID() + "@example.com\"}", "$.customerId");
+		invoice("1985-02-03", "10.00", customerId);
+		invoice("1985-02-20", "5.00", null);
+		invoice("1985-04-01", "7.50", customerId);
+	}
+
+	@Test
+	void monthlyRevenueCoversEveryCustomer() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/revenue?" + YEAR)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.period").value("MONTH"))
+				.andExpect(jsonPath("$.customerId").doesNotExist())
+				.andExpect(jsonPath("$.periods.length()").value(2))
+				.andExpect(jsonPath("$.periods[0].periodStart").value("1985-02-01"))
+				.andExpect(jsonPath("$.periods[0].periodEnd").value("1985-03-01"))
+				.andExpect(jsonPath("$.periods[0].revenue").value(15.0))
+				.andExpect(jsonPath("$.periods[0].invoiceCount").value(2))
+				.andExpect(jsonPath("$.periods[1].periodStart").value("1985-04-01"))
+				.andExpect(jsonPath("$.periods[1].revenue").value(7.5))
+				.andExpect(jsonPath("$.totalRevenue").value(22.5))
+				.andExpect(jsonPath("$.invoiceCount").value(3));
+	}
+
+	@Test
+	void customerRevenueReadsTheCustomerRollups() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/revenue?" + YEAR + "&customerId=" + customerId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.customerId").value(Long.parseLong(customerId)))
+				.andExpect(jsonPath("$.periods.length()").value(2))
+				.andExpect(jsonPath("$.periods[0].revenue").value(10.0))
+				.andExpect(jsonPath("$.periods[1].revenue").value(7.5))
+				.andExpect(jsonPath("$.totalRevenue").value(17.5))
+				.andExpect(jsonPath("$.invoiceCount").value(2));
+	}
+
+	@Test
+	void dailyAndQuarterlyRevenue() throws Exception {
+		mockMvc.perform(get(BASE + "/reports/revenue?period=day&from=1985-02-01&to=1985-03-01"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.periods.length()").value(2))
+				.andExpect(jsonPath("$.periods[0].periodStart").value("1985-02-03"))
+				.andExpect(jsonPath("$.periods[0].periodEnd").value("1985-02-04"))
+				.andExpect(jsonPath("$.periods[1].periodStart").value("1985-02-20"));
+
+		mockMvc.perform(get(BASE + "/reports/revenue?period=quarter&" + YEAR)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.periods.length()").value(2))
+				.andExpect(jsonPath("$.periods[0].periodStart").value("1985-01-01"))
+				.andExpect(jsonPath("$.periods[0].revenue").value(15.0))
+				.andExpect(jsonPath("$.periods[1].periodStart").value("1985-04-01"))
+				.andExpect(jsonPath("$.periods[1].revenue").value(7.5));
+	}
+
+	@Test
+	void invoiceWritesMoveRevenueBetweenPeriods() throws Exception {
+		String invoiceId = invoice("1984-05-10", "40.00", customerId);
+		String year = "from=1984-01-01&to=1985-01-01";
+
+		mockMvc.perform(patch(BASE + "/invoices/" + invoiceId).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"invoiceDate\":\"1984-07-02T12:00:00.000+00:00\",\"totalAmount\":45.00}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get(BASE + "/reports/revenue?" + year + "&customerId=" + customerId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.periods.length()").value(1))
+				.andExpect(jsonPath("$.periods[0].periodStart").value("1984-07-01"))
+				.andExpect(jsonPath("$.periods[0].revenue").value(45.0));
+
+		mockMvc.perform(delete(BASE + "/invoices/" + invoiceId)).andExpect(status().isNoContent());
+		mockMvc.perform(get(BASE + "/reports/revenue?" + year)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.periods.length()").value(0))
+				.andExpect(jsonPath("$.totalRevenue").value(0.0))
+				.andExpect(jsonPath("$.invoiceCount").value(0));
+	}
+
+	private String invoice(String date, String totalAmount, String customerId) throws Exception {
+		String invoiceId = idOf(BASE + "/invoices",
+				"{\"invoiceDate\":\"" + date + "T12:00:00.000+00:00\",\"totalAmount\":" + totalAmount + "}",
+				"$.invoiceId");
+		if (customerId != null) {
+			mockMvc.perform(patch(BASE + "/invoices/" + invoiceId).contentType(MediaType.APPLICATION_JSON)
+					.content("{\"customerId\":" + customerId + "}")).andExpect(status().isOk());
+		}
+		return invoiceId;
+	}
+
+	private String idOf(String uri, String body, String idPath) throws Exception {
+		String response = mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		return String.valueOf((Object) JsonPath.read(response, idPath));
+	}
+}
@@ -0,0 +1,169 @@
+package accounting.files.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
+
+import accounting.files.controller.model.AccountingCustomer;
+import accounting.files.controller.model.AccountingProduct;
+import accounting.files.dao.CustomerDao;
+import accounting.files.dao.InvoiceDao;
+import accounting.files.entity.Invoice;
+import accounting.files.entity.InvoiceItem;
+import accounting.files.service.AccountingFilesService;
+import jakarta.persistence.EntityManagerFactory;
+
+// Summary views return the listing columns only, from one scalar query and without loading entities
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SummaryViewTest {
+
+	private static final String BASE = "/accounting.files";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AccountingFilesService accountingFilesService;
+
+	@Autowired
+	private CustomerDao customerDao;
+
+	@Autowired
+	private InvoiceDao invoiceDao;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private AccountingCustomer customer;
+
+	private AccountingProduct product;
+
+	private Invoice invoice;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void createData() {
+		customer = accountingFilesService.createCustomer(
+				new AccountingCustomer(null, "First", "Last", UUID.randomUUID() + "@example.com"));
+		product = accountingFilesService
+				.createProduct(new AccountingProduct(null, "Widget", "goods", new BigDecimal("2.50")));
+
+		invoice = new Invoice();
+		invoice.setCustomer(customerDao.findById(customer.getCustomerId()).orElseThrow());
+		invoice.setInvoiceDate(new Date());
+		invoice.setTotalAmountCents(1234);
+		InvoiceItem item = new InvoiceItem();
+		item.setProductId(product.getProductId());
+		item.setQuantity(3);
+		item.setInvoice(invoice);
+		invoice.getItems().add(item);
+		invoice = invoiceDao.save(invoice);
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void invoiceSummaryHasListingColumnsOnly() throws Exception {
+		Map<String, Object> summary = firstSummary(
+				"/invoices?view=summary&limit=1&afterId=" + (invoice.getInvoiceId() - 1));
+
+		assertThat(summary).containsOnlyKeys("invoiceId", "customerId", "invoiceDate", "totalAmount", "closed");
+		assertThat(summary.get("invoiceId")).isEqualTo(String.valueOf(invoice.getInvoiceId()));
+		assertThat(((Number) summary.get("customerId")).longValue()).isEqualTo(customer.getCustomerId());
+		assertThat(new BigDecimal(summary.get("totalAmount").toString())).isEqualByComparingTo("12.34");
+		assertThat(summary.get("closed")).isEqualTo(false);
+		assertSingleScalarQuery();
+	}
+
+	@Test
+	void customerSummaryHasListingColumnsOnly() throws Exception {
+		Map<String, Object> summary = firstSummary(
+				"/customers?view=summary&limit=1&afterId=" + (customer.getCustomerId() - 1));
+
+		assertThat(summary).containsOnlyKeys("customerId", "firstName", "lastName");
+		assertThat(summary.get("firstName")).isEqualTo("First");
+		assertSingleScalarQuery();
+	}
+
+	@Test
+	void productSummaryHasListingColumnsOnly() throws Exception {
+		Map<String, Object> summary = firstSummary(
+				"/products?view=summary&limit=1&afterId=" + (product.getProductId() - 1));
+
+		assertThat(summary).containsOnlyKeys("productId", "name", "price");
+		assertThat(new BigDecimal(summary.get("price").toString())).isEqualByComparingTo("2.50");
+		assertSingleScalarQuery();
+	}
+
+	@Test
+	void invoiceSummaryStreamsAsNdjson() throws Exception {
+		MvcResult started = mockMvc.perform(get(BASE + "/invoices?view=summary&limit=1&afterId="
+				+ (invoice.getInvoiceId() - 1)).accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted()).andReturn();
+		String body = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON)).andReturn().getResponse()
+				.getContentAsString();
+
+		String[] lines = body.split("\n");
+		assertThat(lines).hasSize(1);
+		Map<String, Object> summary = JsonPath.read(lines[0], "$");
+		assertThat(summary).containsOnlyKeys("invoiceId", "customerId", "invoiceDate", "totalAmount", "closed");
+		assertThat(summary.get("invoiceId")).isEqualTo(String.valueOf(invoice.getInvoiceId()));
+		assertSingleScalarQuery();
+	}
+
+	@Test
+	void unlimitedProductSummaryStreamEndsWithTheLastRow() throws Exception {
+		MvcResult started = mockMvc.perform(get(BASE + "/products?view=summary&afterId="
+				+ (product.getProductId() - 1)).accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted()).andReturn();
+		String body = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsString();
+
+		String[] lines = body.split("\n");
+		Map<String, Object> last = JsonPath.read(lines[lines.length - 1], "$");
+		assertThat(((Number) last.get("productId")).longValue()).isEqualTo(product.getProductId());
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	private Map<String, Object> firstSummary(String uri) throws Exception {
+		String body = mockMvc.perform(get(BASE + uri)).andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsString();
+		List<Map<String, Object>> summaries = JsonPath.read(body, "$");
+		assertThat(summaries).hasSize(1);
+		return summaries.get(0);
+	}
+
+	private void assertSingleScalarQuery() {
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(statistics.getCollectionLoadCount()).isZero();
+	}
+}
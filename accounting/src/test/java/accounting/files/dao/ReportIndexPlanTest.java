@@ -0,0 +1,218 @@
+package accounting.files.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Checks that the hot lookups pick the indexes from the migrations. The statements are the ones
+// Hibernate generates for the repository methods, captured at the JDBC driver together with their
+// bind values. Connector/J prepares client-side by default, so MySQL plans them with the values
+// inlined as literals; they are explained the same way here. H2 stands in for MySQL; the same
+// statements run through MySQL EXPLAIN are listed in the README.
+@SpringBootTest(properties = "spring.datasource.url="
+		+ "jdbc:h2:mem:index-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class ReportIndexPlanTest {
+
+	private static final List<PreparedSql> statements = new CopyOnWriteArrayList<>();
+
+	@Autowired
+	private InvoiceDao invoiceDao;
+
+	@Autowired
+	private InvoiceItemDao invoiceItemDao;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	// A database of its own, with enough rows that the planner weighs the indexes by cost
+	@BeforeAll
+	static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+		jdbcTemplate.update("insert into customers (customer_id, email, first_name, last_name) values "
+				+ "(1, 'one@example.com', 'One', 'Customer'), (2, 'two@example.com', 'Two', 'Customer')");
+		jdbcTemplate.update("insert into products (product_id, name, price_cents) values (1, 'Widget', 250)");
+		for (int i = 1; i <= 2000; i++) {
+			jdbcTemplate.update("insert into invoices (invoice_id, closed, invoice_date, total_amount_cents, "
+					+ "customer_customer_id) values (?, ?, ?, 1000, ?)", i, i % 2 == 0,
+					Timestamp.valueOf(LocalDate.of(2024, 1, 1).plusDays(i % 365).atStartOfDay()), i % 2 + 1);
+			jdbcTemplate.update("insert into invoice_item (item_id, product_id, quantity, invoice_invoice_id) "
+					+ "values (?, 1, 2, ?)", i, i);
+		}
+		jdbcTemplate.execute("analyze");
+	}
+
+	@BeforeEach
+	void clearCapturedStatements() {
+		statements.clear();
+	}
+
+	@Test
+	void customerInvoicePageUsesCustomerInvoiceIndex() {
+		invoiceDao.findInvoiceIdsForCustomer(1L, 0L, null, null, null, PageRequest.ofSize(50));
+
+		String sql = capturedSql();
+		assertThat(sql).contains(" is null or ");
+		assertThat(planOf(sql)).contains("idx_invoices_customer_invoice:");
+	}
+
+	@Test
+	void closedCustomerInvoicePageUsesCustomerClosedInvoiceIndex() {
+		invoiceDao.findInvoiceIdsForCustomer(1L, 0L, null, null, true, PageRequest.ofSize(50));
+
+		assertThat(planOf(capturedSql())).contains("idx_invoices_customer_closed_invoice:");
+	}
+
+	// H2 keeps the index it created for the foreign key, where MySQL lets the composite
+	// idx_invoice_item_invoice_product take its place, so only the lookup on the join column is checked
+	@Test
+	void invoiceWindowJoinsItemsByInvoiceIndex() {
+		new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> invoiceDao.findWithCustomerAndItemsByInvoiceIdIn(List.of(1L, 2L, 3L)));
+
+		String sql = capturedSql();
+		assertThat(sql).contains("left join invoice_item");
+		assertThat(planOf(sql)).contains("PRIMARY_KEY_")
+				.containsPattern("/\\* public\\.\\w+: invoice_invoice_id = i1_0\\.invoice_id \\*/");
+	}
+
+	@Test
+	void productQuantitiesUseProductIndex() {
+		invoiceItemDao.sumQuantitiesByProductId(1L);
+
+		assertThat(planOf(capturedSql())).contains("idx_invoice_item_product:");
+	}
+
+	@Test
+	void cashFlowRangeUsesDateIndex() {
+		Date from = Timestamp.valueOf(LocalDate.of(2024, 3, 1).atStartOfDay());
+		Date to = Timestamp.valueOf(LocalDate.of(2024, 4, 1).atStartOfDay());
+		new TransactionTemplate(transactionManager).executeWithoutResult(
+				status -> invoiceDao.streamCashFlowRows(from, to).forEach(row -> { }));
+
+		String sql = capturedSql();
+		assertThat(sql).contains("left join invoice_item");
+		assertThat(planOf(sql)).contains("idx_invoices_date:");
+	}
+
+	// The one select the repository call prepared, with its bind values written in as literals
+	private static String capturedSql() {
+		List<PreparedSql> selects = statements.stream().filter(statement -> statement.sql.startsWith("select"))
+				.toList();
+		assertThat(selects).hasSize(1);
+		return selects.get(0).inlined();
+	}
+
+	private String planOf(String sql) {
+		return jdbcTemplate.queryForObject("explain " + sql, String.class);
+	}
+
+	private record PreparedSql(String sql, Map<Integer, Object> parameters) {
+
+		String inlined() {
+			StringBuilder inlined = new StringBuilder();
+			int parameter = 0;
+			for (char c : sql.toCharArray()) {
+				inlined.append(c == '?' ? literal(parameters.get(++parameter)) : String.valueOf(c));
+			}
+			return inlined.toString();
+		}
+
+		private static String literal(Object value) {
+			if (value == null || value instanceof Boolean || value instanceof Number) {
+				return String.valueOf(value);
+			}
+			if (value instanceof Date) {
+				return "timestamp '" + new Timestamp(((Date) value).getTime()) + "'";
+			}
+			return "'" + value.toString().replace("'", "''") + "'";
+		}
+	}
+
+	// Records every statement prepared through the data source along with the values bound to it
+	@TestConfiguration
+	static class StatementCapture {
+
+		@Bean
+		static BeanPostProcessor capturingDataSource() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource dataSource
+							? proxy(DataSource.class, dataSource, (result, method, args) -> method.getName()
+									.equals("getConnection") ? connection((Connection) result) : result)
+							: bean;
+				}
+			};
+		}
+
+		private static Connection connection(Connection connection) {
+			return proxy(Connection.class, connection, (result, method, args) -> {
+				if (method.getName().equals("prepareStatement")) {
+					PreparedSql statement = new PreparedSql((String) args[0], new TreeMap<>());
+					statements.add(statement);
+					return statement((PreparedStatement) result, statement.parameters());
+				}
+				return result;
+			});
+		}
+
+		private static PreparedStatement statement(PreparedStatement statement, Map<Integer, Object> parameters) {
+			return proxy(PreparedStatement.class, statement, (result, method, args) -> {
+				if (method.getName().startsWith("set") && args != null && args.length >= 2
+						&& args[0] instanceof Integer index) {
+					parameters.put(index, method.getName().equals("setNull") ? null : args[1]);
+				}
+				return result;
+			});
+		}
+
+		// Calls through to the target, then lets the wrapper replace what it returned
+		private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+			InvocationHandler handler = (proxy, method, args) -> {
+				Object result;
+				try {
+					result = method.invoke(target, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+				return wrapper.wrap(result, method, args);
+			};
+			return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+		}
+
+		private interface ResultWrapper {
+			Object wrap(Object result, Method method, Object[] args);
+		}
+	}
+}
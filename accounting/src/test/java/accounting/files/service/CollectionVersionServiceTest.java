@@ -0,0 +1,87 @@
+package accounting.files.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import accounting.files.entity.CollectionVersion;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CollectionVersionServiceTest {
+
+	@Autowired
+	private CollectionVersionService collectionVersionService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void transactionBumpsEachCollectionOnceWhenItCommits() {
+		long before = invoicesVersion();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			collectionVersionService.bump(CollectionVersion.INVOICES);
+			collectionVersionService.bump(CollectionVersion.INVOICES, CollectionVersion.CUSTOMERS);
+			assertThat(invoicesVersion()).isEqualTo(before);
+		});
+
+		assertThat(invoicesVersion()).isEqualTo(before + 1);
+	}
+
+	@Test
+	void rolledBackWriteLeavesTheVersion() {
+		long before = invoicesVersion();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			collectionVersionService.bump(CollectionVersion.INVOICES);
+			status.setRollbackOnly();
+		});
+
+		assertThat(invoicesVersion()).isEqualTo(before);
+	}
+
+	// An open write has not touched the counter yet, so another writer's bump commits without waiting
+	@Test
+	void openWriteHoldsNoCounterRow() throws Exception {
+		long before = invoicesVersion();
+		CountDownLatch bumped = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			collectionVersionService.bump(CollectionVersion.INVOICES);
+			bumped.countDown();
+			await(release);
+		}));
+		holder.start();
+		assertThat(bumped.await(10, TimeUnit.SECONDS)).isTrue();
+
+		new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> collectionVersionService.bump(CollectionVersion.INVOICES));
+		long whileOpen = invoicesVersion();
+		release.countDown();
+		holder.join();
+
+		assertThat(whileOpen).isEqualTo(before + 1);
+		assertThat(invoicesVersion()).isEqualTo(before + 2);
+	}
+
+	private long invoicesVersion() {
+		return collectionVersionService.getVersion(CollectionVersion.INVOICES).orElseThrow().getVersion();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
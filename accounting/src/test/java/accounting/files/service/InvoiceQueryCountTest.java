@@ -0,0 +1,118 @@
+package accounting.files.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import accounting.files.controller.model.AccountingInvoice;
+import accounting.files.dao.CustomerDao;
+import accounting.files.dao.InvoiceDao;
+import accounting.files.dao.ProductDao;
+import accounting.files.entity.Customer;
+import accounting.files.entity.Invoice;
+import accounting.files.entity.InvoiceItem;
+import accounting.files.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+
+// Reading invoices must cost a fixed number of statements per window, never one per invoice
+@SpringBootTest
+@ActiveProfiles("test")
+class InvoiceQueryCountTest {
+
+	private static final int INVOICES = 40;
+
+	@Autowired
+	private AccountingFilesService accountingFilesService;
+
+	@Autowired
+	private InvoiceDao invoiceDao;
+
+	@Autowired
+	private CustomerDao customerDao;
+
+	@Autowired
+	private ProductDao productDao;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private List<Long> invoiceIds;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void createInvoices() {
+		Product product = new Product();
+		product.setName("Widget");
+		product.setPriceCents(250L);
+		product = productDao.save(product);
+
+		invoiceIds = new ArrayList<>();
+		for (int i = 0; i < INVOICES; i++) {
+			Customer customer = customerDao.save(new Customer("First", "Last", UUID.randomUUID() + "@example.com"));
+			Invoice invoice = new Invoice();
+			invoice.setCustomer(customer);
+			invoice.setInvoiceDate(new Date());
+			invoice.setTotalAmountCents(1000);
+			for (int quantity = 1; quantity <= 2; quantity++) {
+				InvoiceItem item = new InvoiceItem();
+				item.setProductId(product.getProductId());
+				item.setQuantity(quantity);
+				item.setInvoice(invoice);
+				invoice.getItems().add(item);
+			}
+			invoiceIds.add(invoiceDao.save(invoice).getInvoiceId());
+		}
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void pageLoadsInvoicesCustomersAndItemsInTwoStatements() {
+		List<AccountingInvoice> page = accountingFilesService.getInvoicesPage(invoiceIds.get(0) - 1, INVOICES);
+
+		assertThat(page).hasSize(INVOICES);
+		assertThat(page).allSatisfy(invoice -> {
+			assertThat(invoice.getCustomer()).isNotNull();
+			assertThat(invoice.getItems()).hasSize(2);
+		});
+		// The ID window, then the invoices with their customers and items
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getCollectionFetchCount()).isZero();
+	}
+
+	@Test
+	void invoiceByIdLoadsCustomerAndItemsInOneStatement() {
+		AccountingInvoice invoice = accountingFilesService.getInvoiceById(String.valueOf(invoiceIds.get(0)));
+
+		assertThat(invoice.getItems()).hasSize(2);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getCollectionFetchCount()).isZero();
+	}
+
+	@Test
+	void allInvoicesCostTwoStatementsPerWindow() {
+		long invoiceCount = invoiceDao.count();
+		statistics.clear();
+
+		List<AccountingInvoice> invoices = accountingFilesService.getAllInvoices();
+
+		assertThat(invoices).hasSize((int) invoiceCount);
+		long windows = (invoiceCount + 499) / 500;
+		// Each window reads its IDs and then its invoices; the last ID query comes back empty
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2 * windows + 1);
+		assertThat(statistics.getCollectionFetchCount()).isZero();
+	}
+}
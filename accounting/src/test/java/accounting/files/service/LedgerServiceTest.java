@@ -0,0 +1,106 @@
+package accounting.files.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import accounting.files.entity.LedgerTotals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LedgerServiceTest {
+
+	@Autowired
+	private LedgerService ledgerService;
+
+	@Autowired
+	private AccountingFilesService accountingFilesService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// The deltas below are not backed by invoices, so the ledger is recomputed from the data again
+	@AfterEach
+	void restoreLedger() {
+		accountingFilesService.rebuildLedger();
+	}
+
+	@Test
+	void writersOnOtherStripesDoNotWaitForAnOpenWrite() throws Exception {
+		FinancialTotals before = ledgerService.getTotals().orElseThrow();
+		CountDownLatch applied = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			ledgerService.applyDelta(new FinancialTotals(100, 0, 0, 0));
+			applied.countDown();
+			await(release);
+		}));
+		Thread other = threadOnOtherStripeThan(holder, () -> new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> ledgerService.applyDelta(new FinancialTotals(0, 50, 0, 0))));
+
+		holder.start();
+		assertThat(applied.await(10, TimeUnit.SECONDS)).isTrue();
+		other.start();
+		other.join(TimeUnit.SECONDS.toMillis(10));
+		boolean otherFinishedFirst = !other.isAlive();
+		release.countDown();
+		holder.join();
+
+		assertThat(otherFinishedFirst).isTrue();
+		FinancialTotals after = ledgerService.getTotals().orElseThrow();
+		assertThat(after.subtract(before).getTotalRevenue()).isEqualTo(100);
+		assertThat(after.subtract(before).getTotalExpenses()).isEqualTo(50);
+	}
+
+	@Test
+	void rebuildFoldsEveryStripeIntoTheFirst() throws Exception {
+		CompletableFuture.allOf(CompletableFuture.runAsync(this::applyRevenue),
+				CompletableFuture.runAsync(this::applyRevenue)).get(10, TimeUnit.SECONDS);
+
+		FinancialTotals recomputed = accountingFilesService.calculateFinancialTotals();
+		accountingFilesService.rebuildLedger();
+
+		List<Long> revenueByStripe = jdbcTemplate.queryForList(
+				"select total_revenue_cents from ledger_totals order by ledger_id", Long.class);
+		assertThat(revenueByStripe).hasSize(LedgerTotals.STRIPES);
+		assertThat(revenueByStripe.get(0)).isEqualTo(recomputed.getTotalRevenue());
+		assertThat(revenueByStripe.subList(1, revenueByStripe.size())).containsOnly(0L);
+		assertThat(ledgerService.getTotals().orElseThrow().getTotalRevenue()).isEqualTo(recomputed.getTotalRevenue());
+	}
+
+	private void applyRevenue() {
+		new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> ledgerService.applyDelta(new FinancialTotals(7, 0, 0, 0)));
+	}
+
+	private static Thread threadOnOtherStripeThan(Thread holder, Runnable runnable) {
+		Thread thread = new Thread(runnable);
+		while ((thread.getId() - holder.getId()) % LedgerTotals.STRIPES == 0) {
+			thread = new Thread(runnable);
+		}
+		return thread;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
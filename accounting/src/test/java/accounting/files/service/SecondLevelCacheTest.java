@@ -0,0 +1,120 @@
+package accounting.files.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import accounting.files.controller.model.AccountingCustomer;
+import accounting.files.controller.model.AccountingProduct;
+import accounting.files.controller.model.AccountingProductCacheStats;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+	@Autowired
+	private AccountingFilesService accountingFilesService;
+
+	@Autowired
+	private CacheStatsService cacheStatsService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	private AccountingProduct product;
+
+	@BeforeEach
+	void createProduct() {
+		product = accountingFilesService
+				.createProduct(new AccountingProduct(null, "Widget", "goods", new BigDecimal("2.50")));
+		// Each test starts cold, so the first read has to go to the database
+		entityManagerFactory.getCache().evictAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void repeatedProductLookupIsServedFromCache() {
+		accountingFilesService.getProductById(product.getProductId());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		AccountingProduct cached = accountingFilesService.getProductById(product.getProductId());
+
+		assertThat(cached.getName()).isEqualTo("Widget");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void productCacheStatsComeFromTheProductRegion() {
+		AccountingProductCacheStats before = cacheStatsService.getProductCacheStats();
+
+		accountingFilesService.getProductById(product.getProductId());
+		accountingFilesService.getProductById(product.getProductId());
+
+		AccountingProductCacheStats after = cacheStatsService.getProductCacheStats();
+		assertThat(after.getHits() - before.getHits()).isEqualTo(1);
+		// The read-write strategy looks the entry up again before putting the loaded product
+		assertThat(after.getMisses() - before.getMisses()).isPositive();
+		assertThat(after.getSize()).isPositive();
+		assertThat(after.getMaxSize()).isEqualTo(10000);
+	}
+
+	@Test
+	void repeatedCustomerLookupIsServedFromCache() {
+		AccountingCustomer customer = accountingFilesService.createCustomer(
+				new AccountingCustomer(null, "First", "Last", UUID.randomUUID() + "@example.com"));
+		entityManagerFactory.getCache().evictAll();
+		statistics.clear();
+
+		accountingFilesService.getCustomerById(customer.getCustomerId());
+		accountingFilesService.getCustomerById(customer.getCustomerId());
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void productUpdateReplacesCachedEntity() {
+		accountingFilesService.getProductById(product.getProductId());
+
+		accountingFilesService.updateProduct(product.getProductId(),
+				new AccountingProduct(null, "Renamed", "goods", new BigDecimal("3.00")));
+		AccountingProduct reread = accountingFilesService.getProductById(product.getProductId());
+
+		assertThat(reread.getName()).isEqualTo("Renamed");
+		assertThat(reread.getPrice()).isEqualByComparingTo("3.00");
+	}
+
+	@Test
+	void productWriteInvalidatesCachedPage() {
+		Long afterId = product.getProductId() - 1;
+		accountingFilesService.getProductsPage(afterId, 50);
+		long coldStatements = statistics.getPrepareStatementCount();
+
+		accountingFilesService.getProductsPage(afterId, 50);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(coldStatements);
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+		AccountingProduct added = accountingFilesService.createProduct(
+				new AccountingProduct(null, "Gadget", "goods", new BigDecimal("4.00")));
+		statistics.clear();
+		List<AccountingProduct> page = accountingFilesService.getProductsPage(afterId, 50);
+
+		assertThat(statistics.getPrepareStatementCount()).isPositive();
+		assertThat(page).extracting(AccountingProduct::getProductId).contains(added.getProductId());
+	}
+}